@@ -19,6 +19,7 @@ import task.scheduler.graph.IGraph;
 import task.scheduler.schedule.ISchedule;
 import task.scheduler.schedule.IScheduler;
 import task.scheduler.schedule.SchedulerFactory;
+import task.scheduler.schedule.SchedulingContext;
 import task.scheduler.ui.FXController;
 import task.scheduler.ui.IVisualization;
 
@@ -53,6 +54,12 @@ public class App extends Application {
         logger.info(config.getNumberOfThreads() + " threads will be used in execution");
         logger.info(config.isVisualise() ? "The results will be visualised" : "The results will not be visualised");
         logger.info("The results will be saved to " + config.getOutputFile().getPath());
+        if (config.getSuboptimality() > 0) {
+            logger.info("Schedules within " + config.getSuboptimality() * 100 + "% of optimal will be accepted");
+        }
+        if (config.getTimeBudget() > 0) {
+            logger.info("The search will stop after " + config.getTimeBudget() / 1000 + " seconds");
+        }
 
         // parse input file
         try {
@@ -80,6 +87,8 @@ public class App extends Application {
         SchedulerFactory factory = new SchedulerFactory();
         if (Config.getInstance().isVisualise()) {
             scheduler = factory.createScheduler(SchedulerFactory.SchedulerType.BNB);
+        } else if (config.getSuboptimality() > 0) {
+            scheduler = factory.createScheduler(SchedulerFactory.SchedulerType.FOCAL);
         } else {
             scheduler = factory.createScheduler(SchedulerFactory.SchedulerType.ASTAR);
         }
@@ -92,11 +101,15 @@ public class App extends Application {
         // Execute
         logger.info("Starting ...");
         long time = System.currentTimeMillis();
-        ISchedule output = scheduler.execute(graph);
+        ISchedule output = scheduler.execute(SchedulingContext.fromConfig(graph));
         long deltaTime = System.currentTimeMillis() - time;
         logger.info("... Finished");
         logger.info("In " + deltaTime + "ms");
         logger.info("Schedule cost: " + output.getTotalCost());
+        if (scheduler.getCurrentState() == IScheduler.SchedulerState.STOPPED) {
+            logger.info(String.format("Time budget ran out, lower bound %d, optimality gap %.1f%%",
+                    scheduler.getLowerBound(), scheduler.getOptimalityGap() * 100));
+        }
 
         // write to output file - construction is long because dependency injection is needed
         try (FileWriter fileWriter = new FileWriter(new FileOutputStream(config.getOutputFile()))) {
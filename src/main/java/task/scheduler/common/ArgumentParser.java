@@ -42,6 +42,9 @@ public class ArgumentParser {
         // process optional arguments
         int numberOfThreads = 1;
         boolean visualise = false;
+        long timeBudget = 0;
+        double suboptimality = 0;
+        File bucketDirectory = new File(".");
         File outputFile = new File(inputFilePath.replace(".dot", "-output.dot"));
         for (int i = 2; i < args.length; i++) {
             switch (args[i]) {
@@ -57,6 +60,47 @@ public class ArgumentParser {
                         throw new IllegalArgumentException("argument -p must be followed by a valid integer.");
                     }
                     break;
+                case "-t":
+                    // wall-clock budget of the search in seconds
+                    if (args.length < i + 2) {
+                        throw new IllegalArgumentException("argument -t must be followed by a non-negative integer.");
+                    }
+                    try {
+                        // read next integer and increment i, a budget in milliseconds which overflows is rejected
+                        timeBudget = Math.multiplyExact(Long.parseLong(args[++i]), 1000L);
+                    } catch (NumberFormatException | ArithmeticException e) {
+                        throw new IllegalArgumentException("argument -t must be followed by a non-negative integer.");
+                    }
+                    if (timeBudget < 0) {
+                        throw new IllegalArgumentException("argument -t must be followed by a non-negative integer.");
+                    }
+                    break;
+                case "-e":
+                    // accepted suboptimality factor
+                    if (args.length < i + 2) {
+                        throw new IllegalArgumentException("argument -e must be followed by a non-negative number.");
+                    }
+                    try {
+                        // read next number and increment i
+                        suboptimality = Double.parseDouble(args[++i]);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("argument -e must be followed by a non-negative number.");
+                    }
+                    if (!(suboptimality >= 0)) {
+                        throw new IllegalArgumentException("argument -e must be followed by a non-negative number.");
+                    }
+                    break;
+                case "-d":
+                    // directory of the external memory search buckets
+                    if (args.length < i + 2) {
+                        throw new IllegalArgumentException("argument -d must be followed by a directory.");
+                    }
+                    bucketDirectory = new File(args[++i]);
+                    if (!bucketDirectory.isDirectory()) {
+                        throw new IllegalArgumentException("directory " + bucketDirectory.getAbsolutePath()
+                                + " not found.");
+                    }
+                    break;
                 case "-v":
                     // turn on visual interface
                     visualise = true;
@@ -79,6 +123,9 @@ public class ArgumentParser {
         config.setNumberOfCores(numberOfCores);
         config.setNumberOfThreads(numberOfThreads);
         config.setVisualise(visualise);
+        config.setTimeBudget(timeBudget);
+        config.setSuboptimality(suboptimality);
+        config.setBucketDirectory(bucketDirectory);
 
         // success
         return config;
@@ -95,6 +142,9 @@ public class ArgumentParser {
 
         logger.info("Optional: \r\n" +
                 "−p N use N cores for execution in parallel (default is sequential )\r\n" +
+                "−t T stop after T seconds with the best schedule found (default is no limit)\r\n" +
+                "−e E accept a schedule costing at most (1 + E) times the optimal cost (default is 0, optimal)\r\n" +
+                "−d DIR keep external memory search buckets in DIR on local disk (default is working directory)\r\n" +
                 "−v visualise the search\r\n" +
                 "−o OUTPUT.dot output file is named OUTPUT.dot (default is INPUT−output.dot)\r\n");
     }
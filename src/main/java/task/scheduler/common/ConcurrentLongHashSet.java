@@ -0,0 +1,59 @@
+package task.scheduler.common;
+
+/**
+ * ConcurrentLongHashSet is a thread safe set of primitive longs, striped over a fixed number of LongHashSets which
+ * are each guarded by their own lock. A key always maps to the same stripe, chosen from the high bits of its
+ * Fibonacci hash, so threads adding different fingerprints rarely contend and no key is ever boxed.
+ */
+public class ConcurrentLongHashSet {
+    private static final int STRIPE_BITS = 6;
+
+    private final LongHashSet[] stripes = new LongHashSet[1 << STRIPE_BITS];
+
+    public ConcurrentLongHashSet() {
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new LongHashSet();
+        }
+    }
+
+    /**
+     * Adds a key to the set.
+     *
+     * @param key to add
+     * @return true if the key was not already in the set
+     */
+    public boolean add(long key) {
+        LongHashSet stripe = stripe(key);
+        synchronized (stripe) {
+            return stripe.add(key);
+        }
+    }
+
+    /**
+     * @param key to look up
+     * @return true if the key is in the set
+     */
+    public boolean contains(long key) {
+        LongHashSet stripe = stripe(key);
+        synchronized (stripe) {
+            return stripe.contains(key);
+        }
+    }
+
+    /**
+     * @return the number of keys in the set, which is only exact while no other thread adds keys
+     */
+    public int size() {
+        int size = 0;
+        for (LongHashSet stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    private LongHashSet stripe(long key) {
+        return stripes[(int) ((key * 0x9E3779B97F4A7C15L) >>> (64 - STRIPE_BITS))];
+    }
+}
@@ -15,6 +15,12 @@ public class Config {
     private int numberOfCores;
     private int numberOfThreads;
     private boolean visualise;
+    private boolean verifyFingerprints;
+    private long transpositionTableMemory = 64L << 20;
+    private long timeBudget;
+    private double suboptimality;
+    private double memoryThreshold = 0.8;
+    private File bucketDirectory = new File(".");
 
     // private constructor
     private Config() {
@@ -79,4 +85,81 @@ public class Config {
     public void setVisualise(boolean visualise) {
         this.visualise = visualise;
     }
+
+    /**
+     * Whether schedulers should verify every state fingerprint against the exact schedule, to audit collisions.
+     * This retains the full string of every state, so it is much slower and uses much more memory.
+     * @return
+     */
+    public boolean isVerifyFingerprints() {
+        return verifyFingerprints;
+    }
+
+    public void setVerifyFingerprints(boolean verifyFingerprints) {
+        this.verifyFingerprints = verifyFingerprints;
+    }
+
+    /**
+     * Memory budget of the IDA* transposition table in bytes, 64 MiB by default.
+     * @return
+     */
+    public long getTranspositionTableMemory() {
+        return transpositionTableMemory;
+    }
+
+    public void setTranspositionTableMemory(long transpositionTableMemory) {
+        this.transpositionTableMemory = transpositionTableMemory;
+    }
+
+    /**
+     * Wall-clock budget of the search in milliseconds, 0 for no limit. Once it runs out, schedulers return the best
+     * complete schedule found so far.
+     * @return
+     */
+    public long getTimeBudget() {
+        return timeBudget;
+    }
+
+    public void setTimeBudget(long timeBudget) {
+        this.timeBudget = timeBudget;
+    }
+
+    /**
+     * Suboptimality factor ε, schedules costing at most (1 + ε) times the optimal cost are accepted. 0 by default,
+     * which only accepts optimal schedules.
+     * @return
+     */
+    public double getSuboptimality() {
+        return suboptimality;
+    }
+
+    public void setSuboptimality(double suboptimality) {
+        this.suboptimality = suboptimality;
+    }
+
+    /**
+     * Fraction of the tenured heap, measured after collection, at which memory-bounded search stops growing its open
+     * list, 0.8 by default.
+     * @return
+     */
+    public double getMemoryThreshold() {
+        return memoryThreshold;
+    }
+
+    public void setMemoryThreshold(double memoryThreshold) {
+        this.memoryThreshold = memoryThreshold;
+    }
+
+    /**
+     * Directory external memory search writes its open list to, the working directory by default. It should be on
+     * local disk, as a temporary directory may be held in memory or on a network mount.
+     * @return
+     */
+    public File getBucketDirectory() {
+        return bucketDirectory;
+    }
+
+    public void setBucketDirectory(File bucketDirectory) {
+        this.bucketDirectory = bucketDirectory;
+    }
 }
@@ -0,0 +1,164 @@
+package task.scheduler.common;
+
+/**
+ * LongHashSet is a set of primitive longs backed by a single open-addressing table with linear probing. It is used
+ * as the closed list of the schedulers, keyed by state fingerprint, and holds each entry in 8 bytes instead of a
+ * boxed Long inside a HashMap entry. The table doubles in size whenever the load factor is exceeded. Zero marks an
+ * empty slot, so the key zero is stored separately. This class is not thread safe.
+ */
+public class LongHashSet {
+    private static final int DEFAULT_CAPACITY = 1 << 10;
+    private static final float DEFAULT_LOAD_FACTOR = 0.6f;
+
+    private final float loadFactor;
+    private long[] table;
+    private int mask;
+    private int threshold;
+    private int size;
+    private boolean containsZero;
+
+    // probe statistics, a probe is one slot inspected during an add or contains
+    private long operations;
+    private long probes;
+    private int maxProbeLength;
+
+    public LongHashSet() {
+        this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * @param expectedSize number of keys the set should hold before its first resize
+     * @param loadFactor   fraction of the table that may be occupied before it is doubled, between 0 and 1
+     */
+    public LongHashSet(int expectedSize, float loadFactor) {
+        if (loadFactor <= 0 || loadFactor >= 1) {
+            throw new IllegalArgumentException("load factor must be between 0 and 1");
+        }
+
+        this.loadFactor = loadFactor;
+        int capacity = Integer.highestOneBit(Math.max(2, (int) Math.ceil(expectedSize / loadFactor)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * Adds a key to the set.
+     *
+     * @param key to add
+     * @return true if the key was not already in the set
+     */
+    public boolean add(long key) {
+        if (key == 0) {
+            boolean added = !containsZero;
+            containsZero = true;
+            return added;
+        }
+
+        int slot = find(key);
+        if (table[slot] == key) {
+            return false;
+        }
+
+        table[slot] = key;
+        if (++size > threshold) {
+            resize();
+        }
+        return true;
+    }
+
+    /**
+     * @param key to look up
+     * @return true if the key is in the set
+     */
+    public boolean contains(long key) {
+        if (key == 0) {
+            return containsZero;
+        }
+
+        return table[find(key)] == key;
+    }
+
+    /**
+     * @return the number of keys in the set
+     */
+    public int size() {
+        return containsZero ? size + 1 : size;
+    }
+
+    /**
+     * @return the number of slots in the table
+     */
+    public int capacity() {
+        return table.length;
+    }
+
+    /**
+     * @return the fraction of the table slots which are occupied
+     */
+    public double getOccupancy() {
+        return (double) size / table.length;
+    }
+
+    /**
+     * @return the mean number of slots inspected per add or contains
+     */
+    public double getAverageProbeLength() {
+        return operations == 0 ? 0 : (double) probes / operations;
+    }
+
+    /**
+     * @return the largest number of slots inspected by a single add or contains
+     */
+    public int getMaxProbeLength() {
+        return maxProbeLength;
+    }
+
+    /**
+     * Finds the slot holding the key, or the empty slot where it would be inserted.
+     */
+    private int find(long key) {
+        int slot = hash(key) & mask;
+        int probeLength = 1;
+        while (table[slot] != 0 && table[slot] != key) {
+            slot = (slot + 1) & mask;
+            probeLength++;
+        }
+
+        operations++;
+        probes += probeLength;
+        maxProbeLength = Math.max(maxProbeLength, probeLength);
+        return slot;
+    }
+
+    private void resize() {
+        long[] old = table;
+        allocate(old.length << 1);
+
+        for (long key : old) {
+            if (key != 0) {
+                int slot = hash(key) & mask;
+                while (table[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = key;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalStateException("set cannot grow beyond " + (1 << 30) + " slots");
+        }
+
+        table = new long[capacity];
+        mask = capacity - 1;
+        threshold = (int) (capacity * loadFactor);
+    }
+
+    /**
+     * Fibonacci hashing, so that keys which only differ in their low or high bits spread over the whole table.
+     */
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,168 @@
+package task.scheduler.common;
+
+/**
+ * LongObjectHashMap is a map from primitive longs to objects, backed by open-addressing tables with linear probing
+ * like LongHashSet. Unlike LongHashSet, keys can be removed, which shifts the following entries of the probe run
+ * back instead of leaving tombstones, so the table never fills up with deleted slots. Zero marks an empty slot, so
+ * the key zero is stored separately. Null values are not supported. This class is not thread safe.
+ *
+ * @param <V> type of the values
+ */
+public class LongObjectHashMap<V> {
+    private static final int DEFAULT_CAPACITY = 1 << 10;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int threshold;
+    private int size;
+    private Object zeroValue;
+
+    public LongObjectHashMap() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param key to look up
+     * @return the value of the key, or null if the key is not in the map
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        if (key == 0) {
+            return (V) zeroValue;
+        }
+
+        int slot = find(key);
+        return keys[slot] == key ? (V) values[slot] : null;
+    }
+
+    /**
+     * Associates a value with a key, replacing any previous value.
+     *
+     * @param key   to associate the value with
+     * @param value not null
+     * @return the previous value of the key, or null if the key was not in the map
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("null values are not supported");
+        }
+
+        if (key == 0) {
+            V previous = (V) zeroValue;
+            zeroValue = value;
+            return previous;
+        }
+
+        int slot = find(key);
+        if (keys[slot] == key) {
+            V previous = (V) values[slot];
+            values[slot] = value;
+            return previous;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > threshold) {
+            resize();
+        }
+        return null;
+    }
+
+    /**
+     * Removes a key from the map.
+     *
+     * @param key to remove
+     * @return the value of the key, or null if the key was not in the map
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        if (key == 0) {
+            V previous = (V) zeroValue;
+            zeroValue = null;
+            return previous;
+        }
+
+        int slot = find(key);
+        if (keys[slot] != key) {
+            return null;
+        }
+
+        V previous = (V) values[slot];
+        size--;
+
+        // shift back every following entry of the run which may not live behind the freed slot
+        int free = slot;
+        int next = (slot + 1) & mask;
+        while (keys[next] != 0) {
+            int home = hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - free) & mask)) {
+                keys[free] = keys[next];
+                values[free] = values[next];
+                free = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[free] = 0;
+        values[free] = null;
+
+        return previous;
+    }
+
+    /**
+     * @return the number of keys in the map
+     */
+    public int size() {
+        return zeroValue != null ? size + 1 : size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Finds the slot holding the key, or the empty slot where it would be inserted.
+     */
+    private int find(long key) {
+        int slot = hash(key) & mask;
+        while (keys[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(oldKeys.length << 1);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalStateException("map cannot grow beyond " + (1 << 30) + " slots");
+        }
+
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /**
+     * Fibonacci hashing, as in LongHashSet.
+     */
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,119 @@
+package task.scheduler.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Adjacency is an immutable compressed sparse row (CSR) representation of a graph, indexed by node id.
+ * The children of node i are children[childOffsets[i]] up to children[childOffsets[i + 1] - 1], and the
+ * communication cost of each of those edges is stored at the same position in childWeights. Parents are
+ * stored in the same way. The use of public final fields is justified because the schedulers read these
+ * arrays in their innermost loops. The arrays must not be modified.
+ */
+public final class Adjacency {
+    public final int[] processingCosts;
+
+    public final int[] childOffsets;
+    public final int[] children;
+    public final int[] childWeights;
+
+    public final int[] parentOffsets;
+    public final int[] parents;
+    public final int[] parentWeights;
+
+    /**
+     * For every node, the previous node (by id) of its equivalence class, or -1 if it is the first of its class.
+     * Nodes are equivalent when they have the same processing cost, the same parents and the same children, with
+     * the same communication costs on every edge. Equivalent nodes are interchangeable, so the schedulers only
+     * schedule them in id order.
+     */
+    public final int[] equivalentPredecessors;
+
+    /**
+     * Builds the adjacency arrays from the edge maps of the given nodes. Edges are sorted by node id.
+     *
+     * @param nodes all nodes of the graph, where the node at position i has id i
+     */
+    public Adjacency(List<? extends INode> nodes) {
+        int nodeCount = nodes.size();
+
+        this.processingCosts = new int[nodeCount];
+        this.childOffsets = new int[nodeCount + 1];
+        this.parentOffsets = new int[nodeCount + 1];
+
+        for (int i = 0; i < nodeCount; i++) {
+            INode node = nodes.get(i);
+            this.processingCosts[i] = node.getProcessingCost();
+            this.childOffsets[i + 1] = this.childOffsets[i] + node.getChildren().size();
+            this.parentOffsets[i + 1] = this.parentOffsets[i] + node.getParents().size();
+        }
+
+        this.children = new int[this.childOffsets[nodeCount]];
+        this.childWeights = new int[this.children.length];
+        this.parents = new int[this.parentOffsets[nodeCount]];
+        this.parentWeights = new int[this.parents.length];
+
+        for (int i = 0; i < nodeCount; i++) {
+            fillRow(nodes.get(i).getChildren(), this.childOffsets[i], this.children, this.childWeights);
+            fillRow(nodes.get(i).getParents(), this.parentOffsets[i], this.parents, this.parentWeights);
+        }
+
+        this.equivalentPredecessors = findEquivalentPredecessors();
+    }
+
+    /**
+     * Groups the nodes into equivalence classes by hashing their weight and sorted edge rows, in O(V + E).
+     */
+    private int[] findEquivalentPredecessors() {
+        int nodeCount = getNodeCount();
+        int[] predecessors = new int[nodeCount];
+        Map<List<Integer>, Integer> lastOfClass = new HashMap<>();
+
+        for (int i = 0; i < nodeCount; i++) {
+            List<Integer> signature = new ArrayList<>();
+            signature.add(this.processingCosts[i]);
+            signature.add(this.parentOffsets[i + 1] - this.parentOffsets[i]);
+            for (int j = this.parentOffsets[i]; j < this.parentOffsets[i + 1]; j++) {
+                signature.add(this.parents[j]);
+                signature.add(this.parentWeights[j]);
+            }
+            for (int j = this.childOffsets[i]; j < this.childOffsets[i + 1]; j++) {
+                signature.add(this.children[j]);
+                signature.add(this.childWeights[j]);
+            }
+
+            Integer previous = lastOfClass.put(signature, i);
+            predecessors[i] = previous == null ? -1 : previous;
+        }
+
+        return predecessors;
+    }
+
+    /**
+     * Writes the edges of a single node into the target and weight arrays, sorted by target id.
+     */
+    private static void fillRow(Map<INode, Integer> edges, int offset, int[] targets, int[] weights) {
+        // sort on a packed (target, weight) long, node ids and weights are both non-negative ints
+        long[] row = new long[edges.size()];
+        int i = 0;
+        for (Map.Entry<INode, Integer> edge : edges.entrySet()) {
+            row[i++] = (long) edge.getKey().getId() << 32 | edge.getValue();
+        }
+        Arrays.sort(row);
+
+        for (i = 0; i < row.length; i++) {
+            targets[offset + i] = (int) (row[i] >>> 32);
+            weights[offset + i] = (int) row[i];
+        }
+    }
+
+    /**
+     * @return the number of nodes in the graph
+     */
+    public int getNodeCount() {
+        return this.processingCosts.length;
+    }
+}
@@ -20,6 +20,7 @@ import java.util.regex.Pattern;
 public class Graph implements IGraph {
     private List<Node> nodes;
     private List<Node> startNodes;
+    private Adjacency adjacency;
 
     private Pattern nodeMatcher, edgeMatcher;
 
@@ -33,7 +34,7 @@ public class Graph implements IGraph {
     }
 
     private void loadGraphFromDotFile(File inputFile) throws IOException, DotFormatException {
-        nodes = new LinkedList<>();
+        nodes = new ArrayList<>();
 
         BufferedReader reader = new BufferedReader(new FileReader(inputFile));
 
@@ -44,6 +45,11 @@ public class Graph implements IGraph {
             line = reader.readLine();
         }
 
+        // Assign dense ids in load order
+        for (int i = 0; i < nodes.size(); i++) {
+            nodes.get(i).setId(i);
+        }
+
         // Add dependencies to graph
         for (Triplet<String, String, Integer> edge : edges)    {
             Node dependent = getNodeByLabel(edge.x);
@@ -63,6 +69,8 @@ public class Graph implements IGraph {
         if (startNodes.isEmpty()) {
             throw new DotNodeMissingException("No start node");
         }
+
+        this.adjacency = new Adjacency(nodes);
     }
 
     private void readDotFileLine(String line, List<Triplet<String, String, Integer>> edges) throws DotFormatException {
@@ -119,6 +127,16 @@ public class Graph implements IGraph {
         return nodes.size();
     }
 
+    @Override
+    public INode getNode(int id) {
+        return nodes.get(id);
+    }
+
+    @Override
+    public Adjacency getAdjacency() {
+        return adjacency;
+    }
+
     /**
      * Log of the upper bound on the number of potential schedules
      * Does the arithmetic in log (log(a*b) = log(a) + log(b) to avoid dealing with really large numbers
@@ -31,6 +31,22 @@ public interface IGraph {
      */
     int getNodeCount();
 
+    /**
+     * Method getNode gets the node with the given dense id.
+     *
+     * @param id of the node, from 0 to getNodeCount() - 1
+     * @return the INode with the given id
+     */
+    INode getNode(int id);
+
+    /**
+     * Method getAdjacency gets the immutable compressed sparse row adjacency of this graph, indexed by node id.
+     * Schedulers should iterate over these arrays rather than the edge maps of each INode.
+     *
+     * @return the Adjacency of this graph
+     */
+    Adjacency getAdjacency();
+
     /**
      * Returns the theoretical upper bound on the number of schedules that could be searched for this graph
      * @return logged double of the result
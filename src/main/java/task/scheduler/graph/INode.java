@@ -38,4 +38,12 @@ public interface INode {
      * @return a string containing the node identifier/label.
      */
     String getLabel();
+
+    /**
+     * Method getId is a getter for the dense index of this node within its graph.
+     * Ids run from 0 to the number of nodes in the graph - 1, and are used to index primitive arrays.
+     *
+     * @return an int corresponding to the node id.
+     */
+    int getId();
 }
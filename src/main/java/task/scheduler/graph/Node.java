@@ -9,6 +9,7 @@ import java.util.Map;
 public class Node implements INode {
     private String label;
     private int cost;
+    private int id;
     private Map<INode, Integer> dependencies = new HashMap<>();
     private Map<INode, Integer> dependents = new HashMap<>();
 
@@ -17,6 +18,13 @@ public class Node implements INode {
         this.cost = cost;
     }
 
+    /**
+     * Sets the dense index of this node within its graph. Assigned by the Graph once the node is loaded.
+     */
+    void setId(int id) {
+        this.id = id;
+    }
+
     /**
      * Sets the task to be dependent on the given task, with given cost for transfer between processors
      */
@@ -71,4 +79,12 @@ public class Node implements INode {
     public String getLabel() {
         return label;
     }
+
+    /**
+     * Dense index of this node within its graph
+     */
+    @Override
+    public int getId() {
+        return id;
+    }
 }
@@ -0,0 +1,46 @@
+package task.scheduler.schedule;
+
+/**
+ * Deadline is the point in time at which a scheduler must stop searching, derived from the time budget of a run.
+ * A run without a time budget never expires.
+ */
+public final class Deadline {
+    private final long end;
+    private final boolean unlimited;
+
+    private Deadline(long end, boolean unlimited) {
+        this.end = end;
+        this.unlimited = unlimited;
+    }
+
+    /**
+     * Starts the clock on the time budget of the given run.
+     *
+     * @param context of the run
+     * @return the deadline of the run
+     */
+    public static Deadline start(SchedulingContext context) {
+        long budget = context.getTimeBudget();
+        if (budget <= 0) {
+            return new Deadline(0, true);
+        }
+        return new Deadline(System.nanoTime() + budget * 1_000_000, false);
+    }
+
+    /**
+     * @return true once the time budget has run out
+     */
+    public boolean isExpired() {
+        return !unlimited && System.nanoTime() - end >= 0;
+    }
+
+    /**
+     * @return the milliseconds left until the deadline, or Long.MAX_VALUE if the run has no time budget
+     */
+    public long getRemainingMillis() {
+        if (unlimited) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, (end - System.nanoTime()) / 1_000_000);
+    }
+}
@@ -0,0 +1,160 @@
+package task.scheduler.schedule;
+
+import task.scheduler.graph.Adjacency;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DominanceIndex discards partial schedules which can not lead to a better schedule than one seen before.
+ * Schedules are grouped by their set of scheduled nodes and by the processors of their pending nodes, the
+ * scheduled nodes which still have unscheduled children. Within a group, a schedule dominates another if every
+ * processor finishes no later and every pending node finishes no later, since then every data arrival time is no
+ * later either, and any completion of the dominated schedule can be replayed at least as early on the dominating one.
+ * Each group keeps a small Pareto front of these finish time vectors. Exact duplicates are dominated as well, but
+ * duplicates with relabelled processors are not, so this complements rather than replaces the fingerprint closed set.
+ * Placements are read through Schedule.getProcessor and friends, so adding a child of a state which holds its
+ * assignment does not rebuild the assignment of the child. This class is thread safe.
+ */
+public class DominanceIndex {
+    private static final int MAX_FRONT_SIZE = 8;
+
+    private final ConcurrentHashMap<Key, List<int[]>> fronts = new ConcurrentHashMap<>();
+    private final AtomicLong dominated = new AtomicLong();
+
+    /**
+     * Adds a schedule to the index, unless it is dominated by a schedule already in the index. Schedules in the
+     * index which are dominated by the new schedule are removed.
+     *
+     * @param s partial schedule
+     * @return true if the schedule is not dominated and should be searched
+     */
+    public boolean add(Schedule s) {
+        int[] vector = finishTimes(s);
+        boolean[] added = new boolean[1];
+
+        fronts.compute(key(s), (key, front) -> {
+            if (front == null) {
+                front = new ArrayList<>(2);
+            }
+
+            for (int[] other : front) {
+                if (dominates(other, vector)) {
+                    return front;
+                }
+            }
+
+            front.removeIf(other -> dominates(vector, other));
+            if (front.size() < MAX_FRONT_SIZE) {
+                front.add(vector);
+            }
+            added[0] = true;
+            return front;
+        });
+
+        if (!added[0]) {
+            dominated.incrementAndGet();
+        }
+        return added[0];
+    }
+
+    /**
+     * @return the number of schedules which were discarded as dominated
+     */
+    public long getDominatedCount() {
+        return dominated.get();
+    }
+
+    /**
+     * @return the number of distinct groups of scheduled nodes and pending processors in the index
+     */
+    public int size() {
+        return fronts.size();
+    }
+
+    private static boolean dominates(int[] a, int[] b) {
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] > b[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The set of scheduled nodes followed by the processors of the pending nodes, packed 8 to a word.
+     */
+    private static Key key(Schedule s) {
+        int nodeCount = s.getContext().getNodeCount();
+        int setWords = (nodeCount + 63) >>> 6;
+        long[] words = new long[setWords + setWords * 8];
+
+        int pending = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            int processor = s.getProcessor(node);
+            if (processor != 0) {
+                words[node >>> 6] |= 1L << node;
+                if (isPending(s, node)) {
+                    words[setWords + (pending >>> 3)] |= (long) processor << ((pending & 7) << 3);
+                    pending++;
+                }
+            }
+        }
+
+        return new Key(Arrays.copyOf(words, setWords + ((pending + 7) >>> 3)));
+    }
+
+    /**
+     * The finish time of every processor followed by the finish time of every pending node, in id order.
+     */
+    private static int[] finishTimes(Schedule s) {
+        Adjacency adjacency = s.getContext().getAdjacency();
+        int processorCount = s.getContext().getProcessorCount();
+        int[] vector = new int[processorCount + s.getScheduledNodeCount()];
+        for (int p = 1; p <= processorCount; p++) {
+            vector[p - 1] = s.getFinishTime(p);
+        }
+
+        int length = processorCount;
+        for (int node = 0; node < s.getContext().getNodeCount(); node++) {
+            if (s.getProcessor(node) != 0 && isPending(s, node)) {
+                vector[length++] = s.getStartTime(node) + adjacency.processingCosts[node];
+            }
+        }
+
+        return Arrays.copyOf(vector, length);
+    }
+
+    private static boolean isPending(Schedule s, int node) {
+        Adjacency adjacency = s.getContext().getAdjacency();
+        for (int i = adjacency.childOffsets[node]; i < adjacency.childOffsets[node + 1]; i++) {
+            if (s.getProcessor(adjacency.children[i]) == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Key {
+        private final long[] words;
+        private final int hash;
+
+        private Key(long[] words) {
+            this.words = words;
+            this.hash = Arrays.hashCode(words);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && Arrays.equals(words, ((Key) o).words);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package task.scheduler.schedule;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * FingerprintAudit verifies Schedule fingerprints against the exact schedule string, to detect when two different
+ * states share a fingerprint. It keeps the string of every state it sees, so it is only intended for auditing
+ * collisions and is enabled through Config.setVerifyFingerprints.
+ */
+public class FingerprintAudit {
+    private static final Logger logger = LoggerFactory.getLogger(FingerprintAudit.class);
+
+    private final Map<Long, String> states = new ConcurrentHashMap<>();
+    private final AtomicInteger collisions = new AtomicInteger();
+
+    /**
+     * Records the exact state of the given schedule against its fingerprint, and checks it against the state
+     * previously recorded for the same fingerprint. This method should be called for every generated schedule,
+     * whether or not its fingerprint has been seen before.
+     *
+     * @param schedule to verify
+     * @return true if a different state has already been recorded with the same fingerprint
+     */
+    public boolean isCollision(Schedule schedule) {
+        String exact = schedule.getScheduleString();
+        String previous = states.putIfAbsent(schedule.getFingerprint(), exact);
+
+        if (previous != null && !previous.equals(exact)) {
+            collisions.incrementAndGet();
+            logger.warn("fingerprint collision between \"" + previous + "\" and \"" + exact + "\"");
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return the number of fingerprint collisions detected so far
+     */
+    public int getCollisions() {
+        return collisions.get();
+    }
+}
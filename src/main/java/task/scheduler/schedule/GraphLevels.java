@@ -0,0 +1,127 @@
+package task.scheduler.schedule;
+
+import task.scheduler.graph.Adjacency;
+
+/**
+ * GraphLevels holds the static levels of every node of a graph, indexed by node id. Levels only account for the
+ * processing costs of nodes and ignore communication costs, which keeps them admissible as heuristics.
+ * All levels are computed in O(V + E): a single topological sort, one forward pass for the top levels and
+ * one reverse topological pass for the bottom levels. The use of public final fields is justified because
+ * the schedulers read these arrays in their innermost loops. The arrays must not be modified.
+ */
+public final class GraphLevels {
+    /**
+     * Node ids in topological order.
+     */
+    public final int[] topologicalOrder;
+
+    /**
+     * Cost of the longest path starting at each node, including the node itself.
+     */
+    public final int[] bottomLevels;
+
+    /**
+     * Cost of the longest path starting at each node, including the node itself and the communication costs of the
+     * edges along the path. This is not admissible, but is a better priority for list scheduling.
+     */
+    public final int[] communicationBottomLevels;
+
+    /**
+     * Cost of the longest path ending at each node, excluding the node itself. This is also the as soon as
+     * possible start time of the node with unlimited processors.
+     */
+    public final int[] topLevels;
+
+    /**
+     * As late as possible start time of each node, which does not extend the critical path.
+     */
+    public final int[] alapTimes;
+
+    /**
+     * Cost of the longest path in the graph.
+     */
+    public final int criticalPathLength;
+
+    /**
+     * Computes the levels of every node in the graph described by the given adjacency.
+     *
+     * @param adjacency of an acyclic graph
+     */
+    public GraphLevels(Adjacency adjacency) {
+        int nodeCount = adjacency.getNodeCount();
+
+        this.topologicalOrder = topologicalSort(adjacency);
+        this.topLevels = new int[nodeCount];
+        this.bottomLevels = new int[nodeCount];
+        this.communicationBottomLevels = new int[nodeCount];
+        this.alapTimes = new int[nodeCount];
+
+        // forward pass, parents are always visited before their children
+        for (int node : this.topologicalOrder) {
+            int finish = this.topLevels[node] + adjacency.processingCosts[node];
+            for (int i = adjacency.childOffsets[node]; i < adjacency.childOffsets[node + 1]; i++) {
+                int child = adjacency.children[i];
+                this.topLevels[child] = Math.max(this.topLevels[child], finish);
+            }
+        }
+
+        // reverse pass, children are always visited before their parents
+        int criticalPath = 0;
+        for (int i = nodeCount - 1; i >= 0; i--) {
+            int node = this.topologicalOrder[i];
+
+            int maxChildLevel = 0;
+            int maxCommunicationChildLevel = 0;
+            for (int j = adjacency.childOffsets[node]; j < adjacency.childOffsets[node + 1]; j++) {
+                int child = adjacency.children[j];
+                maxChildLevel = Math.max(maxChildLevel, this.bottomLevels[child]);
+                maxCommunicationChildLevel = Math.max(maxCommunicationChildLevel,
+                        adjacency.childWeights[j] + this.communicationBottomLevels[child]);
+            }
+            this.bottomLevels[node] = adjacency.processingCosts[node] + maxChildLevel;
+            this.communicationBottomLevels[node] = adjacency.processingCosts[node] + maxCommunicationChildLevel;
+            criticalPath = Math.max(criticalPath, this.bottomLevels[node]);
+        }
+        this.criticalPathLength = criticalPath;
+
+        for (int node = 0; node < nodeCount; node++) {
+            this.alapTimes[node] = this.criticalPathLength - this.bottomLevels[node];
+        }
+    }
+
+    /**
+     * Sorts the nodes topologically using Kahn's algorithm.
+     *
+     * @param adjacency of an acyclic graph
+     * @return the node ids in topological order
+     */
+    private static int[] topologicalSort(Adjacency adjacency) {
+        int nodeCount = adjacency.getNodeCount();
+        int[] order = new int[nodeCount];
+        int[] remainingParents = new int[nodeCount];
+
+        // the order array doubles as the queue of nodes without remaining parents
+        int tail = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            remainingParents[node] = adjacency.parentOffsets[node + 1] - adjacency.parentOffsets[node];
+            if (remainingParents[node] == 0) {
+                order[tail++] = node;
+            }
+        }
+
+        for (int head = 0; head < tail; head++) {
+            int node = order[head];
+            for (int i = adjacency.childOffsets[node]; i < adjacency.childOffsets[node + 1]; i++) {
+                int child = adjacency.children[i];
+                if (--remainingParents[child] == 0) {
+                    order[tail++] = child;
+                }
+            }
+        }
+
+        if (tail != nodeCount) {
+            throw new IllegalArgumentException("graph contains a cycle");
+        }
+        return order;
+    }
+}
@@ -11,7 +11,8 @@ public interface IScheduler {
      * State a scheduler is in.
      *  NOT_STARTED is prior to an execute() call,
      *  RUNNING is when the scheduler is doing work,
-     *  STOPPED is implementation optional - if the scheduler pauses/fails to finish during exection,
+     *  STOPPED is implementation optional - if the scheduler pauses/fails to finish during exection, or its time
+     *  budget ran out before the best schedule was proven optimal,
      *  FINISHED is when a schedule has been produced
      */
     public enum SchedulerState  {
@@ -22,11 +23,26 @@ public interface IScheduler {
     }
 
     /**
-     * Each scheduler will need an execute method which will be responsible for returning the schedule
+     * Each scheduler will need an execute method which will be responsible for returning the schedule.
+     * All state of the run is derived from the given context, so one scheduler instance should be used per run,
+     * but several runs may execute concurrently in the same JVM.
+     * If the time budget of the context runs out, the scheduler stops and returns the best complete schedule found
+     * so far, which is never worse than a greedy list schedule. getLowerBound and getOptimalityGap then report how
+     * far from optimal it may be.
      *
+     * @param context of the run, containing the graph and the options to schedule it with
      * @return Schedule which is built according to the scheduling algorithm
      */
-    ISchedule execute(IGraph graph);
+    ISchedule execute(SchedulingContext context);
+
+    /**
+     * Executes the scheduler on the given graph, with a context built from the global Config.
+     *
+     * @return Schedule which is built according to the scheduling algorithm
+     */
+    default ISchedule execute(IGraph graph) {
+        return execute(SchedulingContext.fromConfig(graph));
+    }
 
     /**
      *  Returns the current state of the scheduler, should be threadsafe
@@ -48,4 +64,42 @@ public interface IScheduler {
      * @return the number of schedules searched so far.
      */
     int getSchedulesSearched();
+
+    /**
+     * Returns a proven lower bound on the cost of an optimal schedule. Once the scheduler has finished without
+     * running out of time, this is the cost of the returned schedule. This method should be safe to invoke from
+     * another thread.
+     *
+     * @return the lower bound, 0 if the scheduler does not track one
+     */
+    default int getLowerBound() {
+        return 0;
+    }
+
+    /**
+     * Returns the cost of the best complete schedule found so far. This method should be safe to invoke from
+     * another thread.
+     *
+     * @return the upper bound, Integer.MAX_VALUE if no complete schedule has been found
+     */
+    default int getUpperBound() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Returns the relative gap between the best complete schedule found so far and the lower bound, which is 0 once
+     * the schedule is proven optimal.
+     *
+     * @return (upper bound - lower bound) / upper bound, or 1 if no complete schedule has been found
+     */
+    default double getOptimalityGap() {
+        int upperBound = getUpperBound();
+        if (upperBound == Integer.MAX_VALUE) {
+            return 1;
+        }
+        if (upperBound == 0) {
+            return 0;
+        }
+        return (double) (upperBound - Math.min(upperBound, getLowerBound())) / upperBound;
+    }
 }
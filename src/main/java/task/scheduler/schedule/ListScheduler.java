@@ -0,0 +1,71 @@
+package task.scheduler.schedule;
+
+/**
+ * ListScheduler builds a complete schedule greedily, without any search. Among the free nodes, the node with the
+ * highest bottom level (critical path priority) is scheduled next, on the processor where it can start, and thus
+ * finish, the earliest. The makespan of the result is a valid upper bound on the optimal makespan, which the
+ * optimal schedulers use to prune from the very first state. Priorities are bottom levels including communication
+ * costs, as in HEFT.
+ */
+public final class ListScheduler {
+
+    private ListScheduler() {
+    }
+
+    /**
+     * Greedily schedules every node of the graph. On graphs where communication dominates, spreading nodes over
+     * processors can be worse than running them one after another, so the shorter of the list schedule and the
+     * sequential schedule on a single processor is returned.
+     *
+     * @param context of the scheduling run
+     * @return a complete schedule
+     */
+    public static Schedule schedule(SchedulingContext context) {
+        Schedule listSchedule = complete(new Schedule(context));
+
+        Schedule sequential = new Schedule(context);
+        for (int node : context.getLevels().topologicalOrder) {
+            sequential = sequential.expand(node, 1);
+        }
+
+        return sequential.getTotalCost() < listSchedule.getTotalCost() ? sequential : listSchedule;
+    }
+
+    /**
+     * Greedily schedules the remaining nodes of a partial schedule, keeping the nodes which are already scheduled.
+     *
+     * @param partial schedule to complete
+     * @return a complete schedule which extends the partial schedule
+     */
+    public static Schedule complete(Schedule partial) {
+        SchedulingContext context = partial.getContext();
+        int[] bottomLevels = context.getLevels().communicationBottomLevels;
+        int nodeCount = context.getNodeCount();
+
+        Schedule s = partial;
+        while (s.getScheduledNodeCount() < nodeCount) {
+            // free node on the critical path, ties broken by node id
+            int next = -1;
+            for (int node = s.nextFreeNode(0); node >= 0; node = s.nextFreeNode(node + 1)) {
+                if (next == -1 || bottomLevels[node] > bottomLevels[next]) {
+                    next = node;
+                }
+            }
+
+            // processor with the earliest start time, and therefore the earliest finish time
+            int bestProcessor = 1;
+            int bestStartTime = Integer.MAX_VALUE;
+            for (int p = 1; p <= s.getProcessorLimit(); p++) {
+                int startTime = s.minStartTime(next, p);
+                if (startTime < bestStartTime) {
+                    bestStartTime = startTime;
+                    bestProcessor = p;
+                }
+            }
+
+            s = s.expand(next, bestProcessor);
+        }
+
+        return s;
+    }
+}
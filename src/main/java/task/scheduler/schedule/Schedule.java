@@ -1,154 +1,590 @@
 package task.scheduler.schedule;
 
-import task.scheduler.common.Config;
 import task.scheduler.common.Tuple;
+import task.scheduler.graph.Adjacency;
 import task.scheduler.graph.INode;
 
+import java.nio.ByteBuffer;
 import java.util.*;
 
+/**
+ * Schedule is a partial solution in the search space. A child only stores the placement it adds to its parent, a
+ * pointer to the parent and a handful of scalars such as its f-value and fingerprint, so a state waiting in an open
+ * list takes constant memory. The full assignment, compact primitive arrays indexed by node id, is rebuilt on demand
+ * by replaying the placements since the nearest ancestor which still holds one, for example when the state is
+ * expanded or written out, and can be released again once the state is expanded.
+ * Children are generated in two steps, evaluate and materialise, so that the children which are pruned or found to
+ * be duplicates are never created.
+ */
 public class Schedule implements ISchedule, Comparable<Schedule> {
 
+    private SchedulingContext context;
     private int maxBottomLevelCost;
     private int idleTime;
-    private int[] earliestTimes;
     private int idleTimeHeuristicValue;
     private int heuristicValue;
-    private String scheduleString = "";
+    // XOR of the Zobrist keys of all scheduled nodes, see Zobrist
+    private long fingerprint;
 
-    private List<INode> free;
-    private Map<INode, Tuple<Integer, Integer>> schedule;
-    private Map<INode, Integer> parentCounter;
+    // schedule this one was expanded from, null for the initial state and for complete schedules
+    private Schedule parent;
+    // the placement this schedule adds to its parent, node is -1 for the initial state
+    private int node = -1;
+    private byte processor;
+    private int startTime;
+    // every placement of this schedule, null until it is rebuilt and after it is released
+    private Assignment assignment;
+
+    // highest processor (1 indexed) with a node on it, every processor above it is empty
+    private int usedProcessors;
+    // first node of the fixed task order plus one, -1 if the free nodes have no fixed order, 0 if not yet computed
+    private int fixedTaskOrderNode;
 
     private int scheduledNodeCount;
     private int totalCost;
-    private int hashCode;
 
     private Schedule() {
     }
 
     /**
-     * Constructor for creating the initial state.
+     * Constructor for creating the initial state. Nodes without any parents are immediately free.
      *
-     * @param free          List of nodes that can be immediately scheduled. i.e. start nodes of the graph.
-     * @param parentCounter Map of whether children have unresolved dependencies. Initially in-degree for each node.
+     * @param context of the scheduling run this schedule belongs to.
      */
-    public Schedule(List<INode> free, Map<INode, Integer> parentCounter) {
-        this.free = free;
-        this.parentCounter = parentCounter;
-        this.schedule = new HashMap<>();
-        this.earliestTimes = new int[Config.getInstance().getNumberOfCores()];
+    public Schedule(SchedulingContext context) {
+        this.context = context;
+        this.assignment = Assignment.initial(context);
+        this.idleTimeHeuristicValue = context.getTotalNodeWeighting() / context.getProcessorCount();
+        this.heuristicValue = this.idleTimeHeuristicValue;
     }
 
     /**
-     * Expands the partial solution, generating a new child by scheduling a given node on a given processor.
+     * Expands the partial solution, generating a new child by scheduling a given node on a given processor. The child
+     * only records the placement, unless it is complete.
      *
-     * @param node      to be scheduled.
+     * @param node      id of the node to be scheduled.
      * @param processor to schedule the node on (1 indexed)
      * @return the newly created child.
      */
-    public Schedule expand(INode node, int processor) {
-        Schedule s = new Schedule();
+    public Schedule expand(int node, int processor) {
+        Expansion expansion = new Expansion();
+        evaluate(node, processor, expansion);
+        return materialise(expansion);
+    }
 
-        int lastNodeStartTime = minStartTime(node, processor);
-        s.maxBottomLevelCost = Math.max(this.maxBottomLevelCost, lastNodeStartTime + SchedulerCache.bottomLevelCache.get(node));
-        s.idleTime = this.idleTime + lastNodeStartTime - this.earliestTimes[processor - 1];
-        s.idleTimeHeuristicValue = (s.idleTime + SchedulerCache.totalNodeWeighting) / Config.getInstance().getNumberOfCores();
+    /**
+     * First step of an expansion, which computes the start time, f-value and fingerprint of the child scheduling a
+     * given node on a given processor, without creating it. Schedulers evaluate every child into a reused Expansion
+     * and only materialise the children which survive pruning and duplicate detection.
+     *
+     * @param node      id of the node to be scheduled
+     * @param processor to schedule the node on (1 indexed)
+     * @param expansion scratch space to write the evaluation to, see Expansion.local
+     */
+    public void evaluate(int node, int processor, Expansion expansion) {
+        Assignment a = assignment();
+        SchedulingContext context = this.context;
 
-        s.earliestTimes = this.earliestTimes.clone();
-        s.earliestTimes[processor - 1] = lastNodeStartTime + node.getProcessingCost();
+        int startTime = minStartTime(a, node, processor);
+        int maxBottomLevelCost = Math.max(this.maxBottomLevelCost, startTime + context.getLevels().bottomLevels[node]);
+        int idleTime = this.idleTime + startTime - a.earliestTimes[processor - 1];
+        int idleTimeHeuristicValue = (idleTime + context.getTotalNodeWeighting()) / context.getProcessorCount();
+        int anchor = a.anchors[processor - 1] == 0 ? node : a.anchors[processor - 1] - 1;
 
-        List<INode> free = new ArrayList<>(this.free);
-        free.remove(node);
-        Map<INode, Integer> parentCounter = new HashMap<>(this.parentCounter);
-        for (INode child : node.getChildren().keySet()) {
-            // decrement unresolved dependencies to child
-            int count = parentCounter.get(child);
-            parentCounter.put(child, --count);
+        expansion.parent = this;
+        expansion.node = node;
+        expansion.processor = processor;
+        expansion.startTime = startTime;
+        expansion.maxBottomLevelCost = maxBottomLevelCost;
+        expansion.idleTime = idleTime;
+        expansion.idleTimeHeuristicValue = idleTimeHeuristicValue;
+        expansion.heuristicValue = Math.max(maxBottomLevelCost, idleTimeHeuristicValue);
+        expansion.fingerprint = this.fingerprint ^ Zobrist.key(node, startTime, anchor);
+        expansion.totalCost = Math.max(this.totalCost, startTime + context.getAdjacency().processingCosts[node]);
+    }
 
-            // is now free
-            if (count == 0) {
-                free.add(child);
-            }
+    /**
+     * Second step of an expansion, which creates the child evaluated by evaluate.
+     *
+     * @param expansion evaluation of a child of this schedule
+     * @return the newly created child
+     */
+    public Schedule materialise(Expansion expansion) {
+        if (expansion.parent != this) {
+            throw new IllegalArgumentException("expansion was not evaluated on this schedule");
         }
-        s.scheduledNodeCount = scheduledNodeCount + 1;
-        Map<INode, Tuple<Integer, Integer>> schedule = new HashMap<>(this.schedule);
-        schedule.put(node, new Tuple<>(lastNodeStartTime, processor));
 
-        s.free = free;
-        s.parentCounter = parentCounter;
-        s.schedule = schedule;
+        Schedule s = new Schedule();
+        s.context = this.context;
+        s.maxBottomLevelCost = expansion.maxBottomLevelCost;
+        s.idleTime = expansion.idleTime;
+        s.idleTimeHeuristicValue = expansion.idleTimeHeuristicValue;
+        s.heuristicValue = expansion.heuristicValue;
+        s.fingerprint = expansion.fingerprint;
+        s.totalCost = expansion.totalCost;
+
+        s.parent = this;
+        s.node = expansion.node;
+        s.processor = (byte) expansion.processor;
+        s.startTime = expansion.startTime;
+        s.usedProcessors = Math.max(this.usedProcessors, expansion.processor);
+        s.scheduledNodeCount = this.scheduledNodeCount + 1;
 
-        s.heuristicValue = Math.max(s.maxBottomLevelCost, s.idleTimeHeuristicValue);
-        s.populateScheduleString();
-        s.populateTotalCost();
-        s.populateHashCode();
+        // complete schedules are kept as results, so they hold their own assignment rather than their ancestors
+        if (s.scheduledNodeCount == this.context.getNodeCount()) {
+            s.assignment = s.rebuild();
+            s.parent = null;
+        }
 
         return s;
     }
 
+    /**
+     * Drops the assignment of this schedule, leaving the placement and the pointer to its parent, so that it takes
+     * constant memory until the assignment is needed again. Schedulers release the states they have expanded, which
+     * are only kept as ancestors of open states. The initial state and complete schedules keep their assignment.
+     */
+    public void release() {
+        if (this.parent != null) {
+            this.assignment = null;
+        }
+    }
+
+    /**
+     * @return true if this schedule does not hold its assignment, so it takes constant memory
+     */
+    public boolean isReleased() {
+        return this.assignment == null;
+    }
+
+    /**
+     * @return the assignment of this schedule, rebuilt if it is not held
+     */
+    private Assignment assignment() {
+        Assignment a = this.assignment;
+        if (a == null) {
+            a = rebuild();
+            this.assignment = a;
+        }
+        return a;
+    }
+
+    /**
+     * Rebuilds the assignment by replaying the placements since the nearest ancestor which still holds its
+     * assignment. The assignment of an ancestor may be released by another thread meanwhile, so each is read once.
+     */
+    private Assignment rebuild() {
+        int depth = 0;
+        Schedule ancestor = this;
+        Assignment base;
+        while ((base = ancestor.assignment) == null && ancestor.parent != null) {
+            ancestor = ancestor.parent;
+            depth++;
+        }
+        if (base == null) {
+            base = Assignment.initial(this.context);
+        }
+
+        Schedule[] placements = new Schedule[depth];
+        Schedule s = this;
+        for (int i = depth - 1; i >= 0; i--) {
+            placements[i] = s;
+            s = s.parent;
+        }
+
+        Assignment a = new Assignment(base);
+        Adjacency adjacency = this.context.getAdjacency();
+        for (Schedule placement : placements) {
+            a.place(adjacency, placement.node, placement.processor, placement.startTime);
+        }
+        return a;
+    }
+
+    /**
+     * Returns the processor of a node without rebuilding the assignment, by looking up the placements since the
+     * nearest ancestor which holds one. This is cheap for children of a state which holds its assignment.
+     *
+     * @param node id of the node
+     * @return the processor of the node (1 indexed), 0 if it is not scheduled
+     */
+    int getProcessor(int node) {
+        for (Schedule s = this; ; s = s.parent) {
+            Assignment a = s.assignment;
+            if (a != null) {
+                return a.processors[node];
+            }
+            if (s.node == node) {
+                return s.processor;
+            }
+            if (s.parent == null) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Returns the start time of a scheduled node without rebuilding the assignment, see getProcessor.
+     *
+     * @param node id of a scheduled node
+     * @return the start time of the node
+     */
+    int getStartTime(int node) {
+        for (Schedule s = this; ; s = s.parent) {
+            Assignment a = s.assignment;
+            if (a != null) {
+                return a.startTimes[node];
+            }
+            if (s.node == node) {
+                return s.startTime;
+            }
+            if (s.parent == null) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Returns the finish time of a processor without rebuilding the assignment, see getProcessor.
+     *
+     * @param processor 1 indexed
+     * @return the finish time of the last node on the processor, 0 if it is empty
+     */
+    int getFinishTime(int processor) {
+        for (Schedule s = this; ; s = s.parent) {
+            Assignment a = s.assignment;
+            if (a != null) {
+                return a.earliestTimes[processor - 1];
+            }
+            if (s.processor == processor) {
+                return s.startTime + this.context.getAdjacency().processingCosts[s.node];
+            }
+            if (s.parent == null) {
+                return 0;
+            }
+        }
+    }
+
     /**
      * Returns the earliest time at which the given node can be scheduled on the given processor.
      *
-     * @param node      to be scheduled
+     * @param node      id of the node to be scheduled
      * @param processor on which the node would be scheduled
      * @return earliest time available at which the node can be scheduled
      */
-    private int minStartTime(INode node, int processor) {
+    public int minStartTime(int node, int processor) {
+        return minStartTime(assignment(), node, processor);
+    }
+
+    private int minStartTime(Assignment a, int node, int processor) {
+        Adjacency adjacency = this.context.getAdjacency();
+
         int startTime = 0;
-        for (Map.Entry<INode, Integer> entry : node.getParents().entrySet()) {
-            INode parent = entry.getKey();
-            Tuple<Integer, Integer> nodeSchedule = this.schedule.get(parent);
+        for (int i = adjacency.parentOffsets[node]; i < adjacency.parentOffsets[node + 1]; i++) {
+            int parent = adjacency.parents[i];
 
-            if (nodeSchedule.y != processor) {
+            if (a.processors[parent] != processor) {
                 // parent on different processor
-                startTime = Math.max(startTime, nodeSchedule.x + parent.getProcessingCost() + entry.getValue());
+                startTime = Math.max(startTime, a.startTimes[parent] + adjacency.processingCosts[parent] + adjacency.parentWeights[i]);
             }
         }
-        startTime = Math.max(startTime, earliestTimes[processor - 1]);
+        startTime = Math.max(startTime, a.earliestTimes[processor - 1]);
         return startTime;
     }
 
+    public SchedulingContext getContext() {
+        return context;
+    }
+
+    public int getScheduledNodeCount() {
+        return scheduledNodeCount;
+    }
+
     /**
-     * Populates the scheduleString field by converting the schedule field into a string.
-     * The schedule field allows for a more efficient equality check of Schedule and
-     * thus faster duplicate detection.
+     * Returns the highest processor a node should be expanded onto. Empty processors are interchangeable, so only the
+     * first empty processor is worth trying, which removes the duplicate subtrees of processor relabelling.
+     *
+     * @return the number of processors in use plus one, capped at the number of processors
      */
-    private void populateScheduleString() {
-        StringJoiner joiner = new StringJoiner(" ");
-        for (INode node : SchedulerCache.sortedNodes) {
-            Tuple<Integer, Integer> nodeSchedule = this.schedule.get(node);
-            if (nodeSchedule != null) {
-                joiner.add(node.getLabel() + " " + nodeSchedule.x);
+    public int getProcessorLimit() {
+        return Math.min(this.context.getProcessorCount(), this.usedProcessors + 1);
+    }
+
+    /**
+     * Iterates the free nodes of this schedule in the same manner as {@link BitSet#nextSetBit(int)}.
+     *
+     * @param fromNode node id to start searching from (inclusive)
+     * @return the id of the next free node, or -1 if there are no more free nodes
+     */
+    public int nextFreeNode(int fromNode) {
+        long[] free = assignment().free;
+        int word = fromNode >>> 6;
+        if (word >= free.length) {
+            return -1;
+        }
+
+        long bits = free[word] & (-1L << fromNode);
+        while (bits == 0) {
+            if (++word == free.length) {
+                return -1;
+            }
+            bits = free[word];
+        }
+
+        return (word << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * Iterates the free nodes which are worth scheduling next. If the free nodes have a fixed task order, only the
+     * first node of that order is a candidate. Otherwise a free node is skipped while the previous node of its
+     * equivalence class is unscheduled, as scheduling equivalent nodes in any other order only produces duplicates.
+     * The schedulers expand only these nodes.
+     *
+     * @param fromNode node id to start searching from (inclusive)
+     * @return the id of the next candidate node, or -1 if there are no more candidate nodes
+     */
+    public int nextCandidateNode(int fromNode) {
+        if (this.fixedTaskOrderNode == 0) {
+            this.fixedTaskOrderNode = findFixedTaskOrderNode() + 1;
+        }
+        if (this.fixedTaskOrderNode > 0) {
+            int fixedNode = this.fixedTaskOrderNode - 1;
+            return fromNode <= fixedNode ? fixedNode : -1;
+        }
+
+        int[] equivalentPredecessors = this.context.getAdjacency().equivalentPredecessors;
+        byte[] processors = assignment().processors;
+        for (int node = nextFreeNode(fromNode); node >= 0; node = nextFreeNode(node + 1)) {
+            int predecessor = equivalentPredecessors[node];
+            if (predecessor < 0 || processors[predecessor] != 0) {
+                return node;
             }
         }
 
-        this.scheduleString = joiner.toString();
+        return -1;
     }
 
-    private void populateTotalCost() {
-        // the use of streams here is appropriate as this method is only called once
-        this.totalCost = Arrays.stream(earliestTimes).max().getAsInt();
+    /**
+     * Finds the first node of the fixed task order of the free nodes (Orr and Sinnen). A fixed order exists when every
+     * free node has at most one parent and at most one child, all free nodes with a child share the same child, and
+     * all parents of free nodes are on the same processor. This covers independent tasks, fork, join and fork-join
+     * graphs and the leaves of in- and out-trees. Sorting the free nodes by data ready time, with ties broken by
+     * non-increasing out-edge cost, is then a fixed order if the out-edge costs are non-increasing as well. Scheduling
+     * the nodes in any other order can not produce a shorter schedule, so only the first node needs to be expanded.
+     *
+     * @return the id of the first node of the fixed task order, or -1 if there is none
+     */
+    private int findFixedTaskOrderNode() {
+        Adjacency adjacency = this.context.getAdjacency();
+        Assignment a = assignment();
+
+        int freeCount = 0;
+        int sharedChild = -1;
+        int parentProcessor = 0;
+        for (int node = nextFreeNode(0); node >= 0; node = nextFreeNode(node + 1)) {
+            int parentCount = adjacency.parentOffsets[node + 1] - adjacency.parentOffsets[node];
+            int childCount = adjacency.childOffsets[node + 1] - adjacency.childOffsets[node];
+            if (parentCount > 1 || childCount > 1) {
+                return -1;
+            }
+
+            if (childCount == 1) {
+                int child = adjacency.children[adjacency.childOffsets[node]];
+                if (sharedChild >= 0 && sharedChild != child) {
+                    return -1;
+                }
+                sharedChild = child;
+            }
+
+            if (parentCount == 1) {
+                int processor = a.processors[adjacency.parents[adjacency.parentOffsets[node]]];
+                if (parentProcessor > 0 && parentProcessor != processor) {
+                    return -1;
+                }
+                parentProcessor = processor;
+            }
+            freeCount++;
+        }
+
+        if (freeCount < 2) {
+            return -1;
+        }
+
+        // sort on a packed (data ready time, inverted out-edge cost) long, both are non-negative ints
+        long[] order = new long[freeCount];
+        int i = 0;
+        for (int node = nextFreeNode(0); node >= 0; node = nextFreeNode(node + 1)) {
+            order[i++] = (long) dataReadyTime(node) << 32 | (Integer.MAX_VALUE - outEdgeCost(node));
+        }
+        Arrays.sort(order);
+
+        // out-edge costs must be non-increasing in data ready time order
+        for (i = 1; i < freeCount; i++) {
+            if ((int) order[i] < (int) order[i - 1]) {
+                return -1;
+            }
+        }
+
+        // equal nodes are ordered by id, which agrees with the order of equivalent nodes
+        for (int node = nextFreeNode(0); node >= 0; node = nextFreeNode(node + 1)) {
+            if (((long) dataReadyTime(node) << 32 | (Integer.MAX_VALUE - outEdgeCost(node))) == order[0]) {
+                return node;
+            }
+        }
+        return -1;
     }
 
-    private void populateHashCode() {
-        this.hashCode = this.scheduleString.hashCode();
+    /**
+     * Time at which the data of the only parent of a free node arrives on any other processor, 0 without a parent.
+     */
+    private int dataReadyTime(int node) {
+        Adjacency adjacency = this.context.getAdjacency();
+        int offset = adjacency.parentOffsets[node];
+        if (offset == adjacency.parentOffsets[node + 1]) {
+            return 0;
+        }
+
+        int parent = adjacency.parents[offset];
+        return assignment().startTimes[parent] + adjacency.processingCosts[parent] + adjacency.parentWeights[offset];
     }
 
-    public int getScheduledNodeCount() {
-        return scheduledNodeCount;
+    /**
+     * Communication cost of the only out-edge of a free node, 0 without a child.
+     */
+    private int outEdgeCost(int node) {
+        Adjacency adjacency = this.context.getAdjacency();
+        int offset = adjacency.childOffsets[node];
+        return offset == adjacency.childOffsets[node + 1] ? 0 : adjacency.childWeights[offset];
     }
 
-    public List<INode> getFree() {
-        return free;
+    /**
+     * Returns the 64 bit fingerprint of this schedule, which identifies the start times of its scheduled nodes and
+     * how they are grouped onto processors, regardless of processor labels. It is used for duplicate detection in
+     * place of the schedule string.
+     *
+     * @return the fingerprint of this schedule
+     */
+    public long getFingerprint() {
+        return this.fingerprint;
     }
 
+    /**
+     * Converts the scheduled nodes and their start times into a string. This is the exact state identified by
+     * the fingerprint, and is built on demand as it is only needed to verify fingerprints.
+     *
+     * @return the label, start time and processor anchor label of every scheduled node, in node id order
+     */
     public String getScheduleString() {
-        return this.scheduleString;
+        Assignment a = assignment();
+        StringJoiner joiner = new StringJoiner(" ");
+        for (int node = 0; node < a.processors.length; node++) {
+            if (a.processors[node] != 0) {
+                int anchor = a.anchors[a.processors[node] - 1] - 1;
+                joiner.add(this.context.getGraph().getNode(node).getLabel() + " " + a.startTimes[node] + " "
+                        + this.context.getGraph().getNode(anchor).getLabel());
+            }
+        }
+
+        return joiner.toString();
+    }
+
+    /**
+     * Size in bytes of the binary encoding of every schedule of the given run, see encode. The encoding stores node
+     * ids and the number of scheduled nodes in 16 bits, so graphs of more than Short.MAX_VALUE nodes are rejected.
+     *
+     * @throws IllegalArgumentException if the graph of the run has too many nodes to be encoded
+     */
+    public static int encodedSize(SchedulingContext context) {
+        int nodeCount = context.getNodeCount();
+        if (nodeCount > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("schedules of " + nodeCount + " nodes can not be encoded, at most "
+                    + Short.MAX_VALUE + " nodes are supported");
+        }
+        return 2 + 3 * nodeCount;
+    }
+
+    /**
+     * Writes a compact binary encoding of this schedule: the number of scheduled nodes, then each scheduled node and
+     * its processor in order of start time, padded to encodedSize bytes. Every node was placed at its earliest start
+     * time after the nodes before it, so replaying the nodes in this order with expand rebuilds the schedule.
+     *
+     * @param buffer to write the encoding to
+     */
+    public void encode(ByteBuffer buffer) {
+        int[] topologicalOrder = this.context.getLevels().topologicalOrder;
+        Assignment a = assignment();
+        int[] order = new int[this.scheduledNodeCount];
+        int count = 0;
+
+        // insertion sort by start time, which is stable so ties stay in topological order
+        for (int node : topologicalOrder) {
+            if (a.processors[node] == 0) {
+                continue;
+            }
+            int i = count++;
+            while (i > 0 && a.startTimes[order[i - 1]] > a.startTimes[node]) {
+                order[i] = order[i - 1];
+                i--;
+            }
+            order[i] = node;
+        }
+
+        int end = buffer.position() + encodedSize(this.context);
+        buffer.putShort((short) count);
+        for (int i = 0; i < count; i++) {
+            buffer.putShort((short) order[i]);
+            buffer.put(a.processors[order[i]]);
+        }
+        buffer.position(end);
+    }
+
+    /**
+     * Rebuilds a schedule from the encoding written by encode. The placements are replayed onto a single assignment
+     * which is not shared until the schedule is returned, so no intermediate schedule is created. The decoded schedule
+     * holds its assignment and has no parent.
+     *
+     * @param context of the run the schedule belongs to
+     * @param buffer  to read the encoding from
+     * @return the decoded schedule
+     */
+    public static Schedule decode(SchedulingContext context, ByteBuffer buffer) {
+        int end = buffer.position() + encodedSize(context);
+        int count = buffer.getShort();
+
+        Schedule s = new Schedule(context);
+        Assignment a = s.assignment;
+        Adjacency adjacency = context.getAdjacency();
+        Expansion expansion = new Expansion();
+        for (int i = 0; i < count; i++) {
+            int node = buffer.getShort();
+            int processor = buffer.get();
+            s.evaluate(node, processor, expansion);
+            a.place(adjacency, node, processor, expansion.startTime);
+
+            s.maxBottomLevelCost = expansion.maxBottomLevelCost;
+            s.idleTime = expansion.idleTime;
+            s.idleTimeHeuristicValue = expansion.idleTimeHeuristicValue;
+            s.heuristicValue = expansion.heuristicValue;
+            s.fingerprint = expansion.fingerprint;
+            s.totalCost = expansion.totalCost;
+            s.node = node;
+            s.processor = (byte) processor;
+            s.startTime = expansion.startTime;
+            s.usedProcessors = Math.max(s.usedProcessors, processor);
+            s.scheduledNodeCount++;
+        }
+        buffer.position(end);
+        return s;
     }
 
     @Override
     public Tuple<Integer, Integer> getNodeSchedule(INode node) {
-        return this.schedule.get(node);
+        int id = node.getId();
+        Assignment a = assignment();
+        if (id < 0 || id >= a.processors.length || a.processors[id] == 0) {
+            return null;
+        }
+
+        return new Tuple<>(a.startTimes[id], (int) a.processors[id]);
     }
 
     @Override
@@ -163,18 +599,175 @@ public class Schedule implements ISchedule, Comparable<Schedule> {
 
     @Override
     public int hashCode() {
-        return this.hashCode;
+        return Long.hashCode(this.fingerprint);
     }
 
     @Override
     public boolean equals(Object o) {
-        if (o instanceof Schedule) {
-            return this.scheduleString.equals(((Schedule) o).scheduleString);
+        if (!(o instanceof Schedule)) {
+            return false;
+        }
+
+        Schedule other = (Schedule) o;
+        if (this.fingerprint != other.fingerprint || this.scheduledNodeCount != other.scheduledNodeCount) {
+            return false;
         }
-        return false;
+
+        // fingerprints can collide, so compare the start times and processor anchors exactly
+        Assignment a = assignment();
+        Assignment b = other.assignment();
+        for (int node = 0; node < a.processors.length; node++) {
+            if ((a.processors[node] == 0) != (b.processors[node] == 0)) {
+                return false;
+            }
+            if (a.processors[node] != 0 && (a.startTimes[node] != b.startTimes[node]
+                    || a.anchors[a.processors[node] - 1] != b.anchors[b.processors[node] - 1])) {
+                return false;
+            }
+        }
+        return true;
     }
 
     public int getHeuristicValue() {
         return heuristicValue;
     }
+
+    /**
+     * Scratch space for the evaluation of one child, see evaluate. It is reused for every child, and a search thread
+     * gets its own instance from local, so evaluating a child allocates nothing.
+     */
+    public static final class Expansion {
+        private static final ThreadLocal<Expansion> LOCAL = ThreadLocal.withInitial(Expansion::new);
+
+        private Schedule parent;
+        private int node;
+        private int processor;
+        private int startTime;
+        private int maxBottomLevelCost;
+        private int idleTime;
+        private int idleTimeHeuristicValue;
+        private int heuristicValue;
+        private long fingerprint;
+        private int totalCost;
+
+        public Expansion() {
+        }
+
+        /**
+         * @return the expansion of the calling thread
+         */
+        public static Expansion local() {
+            return LOCAL.get();
+        }
+
+        public int getNode() {
+            return node;
+        }
+
+        public int getProcessor() {
+            return processor;
+        }
+
+        public int getStartTime() {
+            return startTime;
+        }
+
+        public int getHeuristicValue() {
+            return heuristicValue;
+        }
+
+        public long getFingerprint() {
+            return fingerprint;
+        }
+
+        public int getTotalCost() {
+            return totalCost;
+        }
+
+        /**
+         * @return the number of nodes the child schedules
+         */
+        public int getScheduledNodeCount() {
+            return parent.scheduledNodeCount + 1;
+        }
+    }
+
+    /**
+     * Every placement of a schedule in arrays indexed by node id. The arrays are never modified once the assignment
+     * is built, and as the fields are final an assignment built by one thread is safely read by any other.
+     */
+    private static final class Assignment {
+        // start time of each node, only meaningful once the node is scheduled
+        private final int[] startTimes;
+        // processor of each node (1 indexed), 0 if the node has not been scheduled yet. Limits schedules to 127 processors
+        private final byte[] processors;
+        // finish time of each processor
+        private final int[] earliestTimes;
+        // number of unscheduled parents of each node
+        private final int[] parentCounter;
+        // bitset of nodes which can be immediately scheduled
+        private final long[] free;
+        // first node placed on each processor plus one, 0 if the processor is empty
+        private final int[] anchors;
+
+        private Assignment(int[] startTimes, byte[] processors, int[] earliestTimes, int[] parentCounter, long[] free,
+                           int[] anchors) {
+            this.startTimes = startTimes;
+            this.processors = processors;
+            this.earliestTimes = earliestTimes;
+            this.parentCounter = parentCounter;
+            this.free = free;
+            this.anchors = anchors;
+        }
+
+        /**
+         * Copies an assignment, so that placements can be added to the copy.
+         */
+        private Assignment(Assignment a) {
+            this(a.startTimes.clone(), a.processors.clone(), a.earliestTimes.clone(), a.parentCounter.clone(),
+                    a.free.clone(), a.anchors.clone());
+        }
+
+        /**
+         * @return the assignment of the initial state, where only the nodes without any parents are free
+         */
+        private static Assignment initial(SchedulingContext context) {
+            Adjacency adjacency = context.getAdjacency();
+            int nodeCount = context.getNodeCount();
+            Assignment a = new Assignment(new int[nodeCount], new byte[nodeCount],
+                    new int[context.getProcessorCount()], new int[nodeCount], new long[(nodeCount + 63) >>> 6],
+                    new int[context.getProcessorCount()]);
+
+            for (int node = 0; node < nodeCount; node++) {
+                a.parentCounter[node] = adjacency.parentOffsets[node + 1] - adjacency.parentOffsets[node];
+                if (a.parentCounter[node] == 0) {
+                    a.free[node >>> 6] |= 1L << node;
+                }
+            }
+            return a;
+        }
+
+        /**
+         * Adds a placement to an assignment which has not been shared yet.
+         */
+        private void place(Adjacency adjacency, int node, int processor, int startTime) {
+            this.earliestTimes[processor - 1] = startTime + adjacency.processingCosts[node];
+            this.free[node >>> 6] &= ~(1L << node);
+            for (int i = adjacency.childOffsets[node]; i < adjacency.childOffsets[node + 1]; i++) {
+                // decrement unresolved dependencies to child
+                int child = adjacency.children[i];
+
+                // is now free
+                if (--this.parentCounter[child] == 0) {
+                    this.free[child >>> 6] |= 1L << child;
+                }
+            }
+
+            this.startTimes[node] = startTime;
+            this.processors[node] = (byte) processor;
+            if (this.anchors[processor - 1] == 0) {
+                this.anchors[processor - 1] = node + 1;
+            }
+        }
+    }
 }
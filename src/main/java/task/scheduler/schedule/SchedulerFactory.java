@@ -1,8 +1,15 @@
 package task.scheduler.schedule;
 
+import task.scheduler.schedule.ao.AllocationOrdering;
 import task.scheduler.schedule.astar.AStar;
+import task.scheduler.schedule.astar.ExternalAStar;
+import task.scheduler.schedule.astar.FocalAStar;
+import task.scheduler.schedule.astar.FrontierAStar;
+import task.scheduler.schedule.astar.HashDistributedAStar;
+import task.scheduler.schedule.astar.MemoryBoundedAStar;
 import task.scheduler.schedule.ida.IterativeDeepeningAStar;
 import task.scheduler.schedule.ida.IterativeDeepeningAStarTT;
+import task.scheduler.schedule.ida.ParallelIterativeDeepeningAStar;
 import task.scheduler.schedule.bnb.BNB;
 import task.scheduler.schedule.valid.ValidScheduler;
 
@@ -13,7 +20,7 @@ import task.scheduler.schedule.valid.ValidScheduler;
 public class SchedulerFactory {
 
     public enum SchedulerType {
-        VALID, ASTAR, BNB, IDASTAR_TT
+        VALID, ASTAR, FOCAL, FRONTIER, MBASTAR, EXASTAR, HDASTAR, BNB, IDASTAR_TT, PIDASTAR, AO
     }
 
     public SchedulerFactory() {
@@ -31,10 +38,24 @@ public class SchedulerFactory {
                 return new ValidScheduler();
             case ASTAR:
                 return new AStar();
+            case FOCAL:
+                return new FocalAStar();
+            case FRONTIER:
+                return new FrontierAStar();
+            case MBASTAR:
+                return new MemoryBoundedAStar();
+            case EXASTAR:
+                return new ExternalAStar();
+            case HDASTAR:
+                return new HashDistributedAStar();
             case BNB:
                 return new BNB();
             case IDASTAR_TT:
                 return new IterativeDeepeningAStarTT();
+            case PIDASTAR:
+                return new ParallelIterativeDeepeningAStar();
+            case AO:
+                return new AllocationOrdering();
             default:
                 throw new RuntimeException("createSchedular case not implemented for " + type);
         }
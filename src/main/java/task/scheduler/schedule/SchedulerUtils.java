@@ -1,103 +0,0 @@
-package task.scheduler.schedule;
-
-import task.scheduler.graph.IGraph;
-import task.scheduler.graph.INode;
-
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.Stack;
-
-public class SchedulerUtils {
-    /**
-     * computeCriticalPath is used to compute the greatest cost path from the provided source node.
-     * It updates the critical paths field with the maxmimal cost path.
-     * https://www.geeksforgeeks.org/find-longest-path-directed-acyclic-graph/
-     *
-     * @param source node to be considered
-     */
-    public int computeCriticalPath(INode source, IGraph graph) {
-        List<INode> nodes = graph.getNodes();
-
-        Map<INode, Integer> distances = new HashMap<>();
-        Map<INode, Boolean> visited = new HashMap<>();
-        Stack<INode> stack = new Stack<>();
-
-        // Initialise distances to all vertices as negative infinity
-        // distances to source node are zero
-        for (INode node : nodes) {
-            distances.put(node, Integer.MIN_VALUE);
-            visited.put(node, false);
-        }
-        distances.put(source, source.getProcessingCost());
-
-        // topologically sort nodes into the stack
-        for (INode node : nodes) {
-            if (!visited.get(node)) {
-                topologicalSortUtil(node, visited, stack);
-            }
-        }
-
-        // process nodes in topological order
-        while (!stack.empty()) {
-            INode node = stack.pop();
-
-            if (distances.get(node) != Integer.MIN_VALUE) {
-                // iterate over node children
-                for (INode child : node.getChildren().keySet()) {
-
-                    // update distances if greater
-                    if (distances.get(child) < distances.get(node) + child.getProcessingCost()) {
-                        distances.put(child, distances.get(node) + child.getProcessingCost());
-                    }
-                }
-            }
-        }
-
-        int max = 0;
-
-        for (int distance : distances.values()) {
-            max = Math.max(max, distance);
-        }
-
-        return max;
-    }
-
-    /**
-     * Topological sort recursive function
-     *
-     * @param node    current node
-     * @param visited map of whether nodes have been visited or not
-     * @param stack   stack to push topological ordering to
-     */
-    public void topologicalSortUtil(INode node, Map<INode, Boolean> visited, Stack<INode> stack) {
-        // mark current node as visited
-        visited.put(node, true);
-
-        // recursively call topological sort on unvisited nodes
-        for (Map.Entry<INode, Integer> child : node.getChildren().entrySet()) {
-            if (!visited.get(child.getKey())) {
-                topologicalSortUtil(child.getKey(), visited, stack);
-            }
-        }
-
-        stack.push(node);
-    }
-
-    /**
-     * Returns a map of INode to a parent count Integer. The parent count Integer represents the
-     * remaining number of parents the INode has. The map contains this information for all INodes
-     * of the given IGraph.
-     *
-     * @param graph for which to calculate the parentCountMap
-     * @return a parentCountMap
-     */
-    public Map<INode, Integer> getParentCountMap(IGraph graph) {
-        Map<INode, Integer> parentCount = new HashMap<>();
-
-        for (INode node : graph.getNodes()) {
-            parentCount.put(node, node.getParents().size());
-        }
-        return parentCount;
-    }
-}
@@ -0,0 +1,232 @@
+package task.scheduler.schedule;
+
+import task.scheduler.common.Config;
+import task.scheduler.graph.Adjacency;
+import task.scheduler.graph.IGraph;
+
+import java.io.File;
+
+/**
+ * SchedulingContext holds the immutable state of a single scheduling run: the graph with its precomputed adjacency
+ * and levels, and the options the schedulers run with. It is built once per graph and processor count and passed
+ * to IScheduler.execute, so several graphs can be scheduled concurrently in the same JVM. Every field is final, so
+ * the hot path of the schedulers never has to consult the global Config.
+ */
+public final class SchedulingContext {
+    private final IGraph graph;
+    private final Adjacency adjacency;
+    private final GraphLevels levels;
+    private final int totalNodeWeighting;
+
+    private final int processorCount;
+    private final int threadCount;
+    private final boolean verifyFingerprints;
+    private final long transpositionTableMemory;
+    private final long timeBudget;
+    private final double suboptimality;
+    private final double memoryThreshold;
+    private final File bucketDirectory;
+
+    /**
+     * Builds the context for scheduling the given graph, precomputing its levels and total node weighting.
+     *
+     * @param graph          to be scheduled
+     * @param processorCount number of processors to schedule the graph on
+     * @param threadCount    number of threads the scheduler may use
+     */
+    public SchedulingContext(IGraph graph, int processorCount, int threadCount) {
+        if (processorCount < 1 || processorCount > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("number of processors must be between 1 and " + Byte.MAX_VALUE);
+        }
+
+        this.graph = graph;
+        this.adjacency = graph.getAdjacency();
+        this.levels = new GraphLevels(this.adjacency);
+        this.processorCount = processorCount;
+        this.threadCount = Math.max(1, threadCount);
+        this.verifyFingerprints = false;
+        this.transpositionTableMemory = 64L << 20;
+        this.timeBudget = 0;
+        this.suboptimality = 0;
+        this.memoryThreshold = 0.8;
+        this.bucketDirectory = new File(".");
+
+        int total = 0;
+        for (int cost : this.adjacency.processingCosts) {
+            total += cost;
+        }
+        this.totalNodeWeighting = total;
+    }
+
+    /**
+     * Copy constructor used to change options, sharing the precomputed graph information.
+     */
+    private SchedulingContext(SchedulingContext context, boolean verifyFingerprints, long transpositionTableMemory,
+                              long timeBudget, double suboptimality, double memoryThreshold,
+                              File bucketDirectory) {
+        this.graph = context.graph;
+        this.adjacency = context.adjacency;
+        this.levels = context.levels;
+        this.totalNodeWeighting = context.totalNodeWeighting;
+        this.processorCount = context.processorCount;
+        this.threadCount = context.threadCount;
+        this.verifyFingerprints = verifyFingerprints;
+        this.transpositionTableMemory = transpositionTableMemory;
+        this.timeBudget = timeBudget;
+        this.suboptimality = suboptimality;
+        this.memoryThreshold = memoryThreshold;
+        this.bucketDirectory = bucketDirectory;
+    }
+
+    /**
+     * Builds the context for scheduling the given graph with the options of the global Config.
+     *
+     * @param graph to be scheduled
+     * @return the context of the run
+     */
+    public static SchedulingContext fromConfig(IGraph graph) {
+        Config config = Config.getInstance();
+        return new SchedulingContext(graph, config.getNumberOfCores(), config.getNumberOfThreads())
+                .withVerifyFingerprints(config.isVerifyFingerprints())
+                .withTranspositionTableMemory(config.getTranspositionTableMemory())
+                .withTimeBudget(config.getTimeBudget())
+                .withSuboptimality(config.getSuboptimality())
+                .withMemoryThreshold(config.getMemoryThreshold())
+                .withBucketDirectory(config.getBucketDirectory());
+    }
+
+    /**
+     * @param verifyFingerprints whether every state fingerprint is verified against the exact schedule
+     * @return a copy of this context with the given option
+     */
+    public SchedulingContext withVerifyFingerprints(boolean verifyFingerprints) {
+        return new SchedulingContext(this, verifyFingerprints, transpositionTableMemory, timeBudget, suboptimality,
+                memoryThreshold, bucketDirectory);
+    }
+
+    /**
+     * @param transpositionTableMemory memory budget of the IDA* transposition table in bytes
+     * @return a copy of this context with the given option
+     */
+    public SchedulingContext withTranspositionTableMemory(long transpositionTableMemory) {
+        return new SchedulingContext(this, verifyFingerprints, transpositionTableMemory, timeBudget, suboptimality,
+                memoryThreshold, bucketDirectory);
+    }
+
+    /**
+     * @param timeBudget wall-clock budget of the search in milliseconds, 0 for no limit
+     * @return a copy of this context with the given option
+     */
+    public SchedulingContext withTimeBudget(long timeBudget) {
+        return new SchedulingContext(this, verifyFingerprints, transpositionTableMemory, timeBudget, suboptimality,
+                memoryThreshold, bucketDirectory);
+    }
+
+    /**
+     * @param suboptimality factor ε, schedules costing at most (1 + ε) times the optimal cost are accepted
+     * @return a copy of this context with the given option
+     */
+    public SchedulingContext withSuboptimality(double suboptimality) {
+        if (suboptimality < 0) {
+            throw new IllegalArgumentException("suboptimality must not be negative");
+        }
+        return new SchedulingContext(this, verifyFingerprints, transpositionTableMemory, timeBudget, suboptimality,
+                memoryThreshold, bucketDirectory);
+    }
+
+    /**
+     * @param memoryThreshold fraction of the tenured heap, measured after collection, at which memory-bounded search
+     *                        stops growing
+     * @return a copy of this context with the given option
+     */
+    public SchedulingContext withMemoryThreshold(double memoryThreshold) {
+        return new SchedulingContext(this, verifyFingerprints, transpositionTableMemory, timeBudget, suboptimality,
+                memoryThreshold, bucketDirectory);
+    }
+
+    /**
+     * @param bucketDirectory directory external memory search writes its open list to, which should be on local disk
+     * @return a copy of this context with the given option
+     */
+    public SchedulingContext withBucketDirectory(File bucketDirectory) {
+        return new SchedulingContext(this, verifyFingerprints, transpositionTableMemory, timeBudget, suboptimality,
+                memoryThreshold, bucketDirectory);
+    }
+
+    public IGraph getGraph() {
+        return graph;
+    }
+
+    public Adjacency getAdjacency() {
+        return adjacency;
+    }
+
+    public GraphLevels getLevels() {
+        return levels;
+    }
+
+    public int getNodeCount() {
+        return adjacency.getNodeCount();
+    }
+
+    /**
+     * Sum of the processing costs of all nodes in the graph
+     */
+    public int getTotalNodeWeighting() {
+        return totalNodeWeighting;
+    }
+
+    /**
+     * Number of processors to produce a schedule for
+     */
+    public int getProcessorCount() {
+        return processorCount;
+    }
+
+    /**
+     * Number of threads to execute on
+     */
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    public boolean isVerifyFingerprints() {
+        return verifyFingerprints;
+    }
+
+    /**
+     * Memory budget of the IDA* transposition table in bytes
+     */
+    public long getTranspositionTableMemory() {
+        return transpositionTableMemory;
+    }
+
+    /**
+     * Wall-clock budget of the search in milliseconds, 0 for no limit
+     */
+    public long getTimeBudget() {
+        return timeBudget;
+    }
+
+    /**
+     * Suboptimality factor ε of bounded-suboptimal schedulers, 0 if only optimal schedules are accepted
+     */
+    public double getSuboptimality() {
+        return suboptimality;
+    }
+
+    /**
+     * Fraction of the tenured heap, measured after collection, at which memory-bounded search stops growing its open
+     * list
+     */
+    public double getMemoryThreshold() {
+        return memoryThreshold;
+    }
+
+    /**
+     * Directory external memory search writes its open list to, the working directory unless configured otherwise
+     */
+    public File getBucketDirectory() {
+        return bucketDirectory;
+    }
+}
@@ -0,0 +1,39 @@
+package task.scheduler.schedule;
+
+/**
+ * Zobrist provides the keys used to fingerprint a Schedule. Every scheduled node maps to a pseudo random 64 bit key,
+ * and the fingerprint of a schedule is the XOR of the keys of its scheduled nodes. Scheduling one more node therefore
+ * updates the parent's fingerprint with a single XOR.
+ * A node is keyed by its start time and the anchor of its processor, the first node placed on that processor.
+ * Anchors identify processors by their contents rather than their index, so schedules which only differ by a
+ * relabelling of processors share a fingerprint, while schedules which group nodes differently do not.
+ * Keys are computed by mixing rather than looked up in a table, as start times are unbounded.
+ */
+public final class Zobrist {
+
+    private Zobrist() {
+    }
+
+    /**
+     * Returns the key of a node starting at the given start time on the processor anchored by the given node.
+     *
+     * @param node      id of the scheduled node
+     * @param startTime start time of the scheduled node
+     * @param anchor    id of the first node placed on the same processor
+     * @return the 64 bit key of the triple
+     */
+    public static long key(int node, int startTime, int anchor) {
+        // the first mix is a bijection on (node, start time), the second folds in the anchor
+        return mix(mix((long) node << 32 | (startTime & 0xFFFFFFFFL)) + anchor);
+    }
+
+    /**
+     * The splitmix64 finaliser.
+     */
+    private static long mix(long z) {
+        z += 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
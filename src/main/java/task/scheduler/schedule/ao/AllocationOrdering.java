@@ -0,0 +1,311 @@
+package task.scheduler.schedule.ao;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import task.scheduler.graph.Adjacency;
+import task.scheduler.schedule.*;
+
+import java.util.Arrays;
+
+/**
+ * Branch and bound over the duplicate-free allocation-ordering state space (Orr and Sinnen).
+ * The allocation phase assigns the nodes, in topological order, to processor groups. A node either joins an existing
+ * group or opens the next new one, so every partition of the nodes into at most P groups is generated exactly once,
+ * regardless of processor labels.
+ * The ordering phase then appends the nodes of a complete allocation to their processors. Every node starts as soon
+ * as possible, and nodes must be appended in non-decreasing order of (start time, processor). Each schedule therefore
+ * has exactly one path to it.
+ * As no state is ever reached twice, the search needs no closed list, and its memory is bounded by the depth of the
+ * search. It runs on a single thread.
+ * If the time budget runs out, only the heuristic value of the empty schedule is known to bound the optimal cost.
+ */
+public class AllocationOrdering implements IScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(AllocationOrdering.class);
+
+    private SchedulerState state = SchedulerState.NOT_STARTED;
+    private volatile ISchedule currentSchedule;
+    private volatile int schedulesSearched;
+
+    private SchedulingContext context;
+    private Adjacency adjacency;
+    private int nodeCount;
+    private int processorCount;
+    private int[] topologicalOrder;
+
+    private Schedule bestSchedule;
+    private volatile int upperBound = Integer.MAX_VALUE;
+    private volatile int lowerBound;
+    private Deadline deadline;
+    private boolean stopped;
+
+    // allocation phase, group of each node (-1 if unallocated) and total processing cost of each group
+    private int[] groups;
+    private int[] groupLoads;
+    private int groupCount;
+    private int[] topLevels;
+
+    // ordering phase
+    private int[] bottomLevels;
+    private int[] startTimes;
+    private int[] remainingParents;
+    private boolean[] ordered;
+    private int[] processorReady;
+    private int[] remainingLoads;
+    private int[] path;
+
+    public AllocationOrdering() {
+    }
+
+    @Override
+    public ISchedule execute(SchedulingContext context) {
+        this.state = SchedulerState.RUNNING;
+        this.context = context;
+        this.adjacency = context.getAdjacency();
+        this.nodeCount = context.getNodeCount();
+        this.processorCount = context.getProcessorCount();
+        this.topologicalOrder = context.getLevels().topologicalOrder;
+        this.deadline = Deadline.start(context);
+
+        // a greedy schedule bounds the search from the start
+        this.bestSchedule = ListScheduler.schedule(context);
+        this.upperBound = bestSchedule.getTotalCost();
+        this.currentSchedule = bestSchedule;
+
+        this.groups = new int[nodeCount];
+        Arrays.fill(this.groups, -1);
+        this.groupLoads = new int[processorCount];
+        this.groupCount = 0;
+        this.topLevels = new int[nodeCount];
+
+        this.bottomLevels = new int[nodeCount];
+        this.startTimes = new int[nodeCount];
+        this.remainingParents = new int[nodeCount];
+        this.ordered = new boolean[nodeCount];
+        this.processorReady = new int[processorCount];
+        this.remainingLoads = new int[processorCount];
+        this.path = new int[nodeCount];
+
+        this.lowerBound = Math.min(new Schedule(context).getHeuristicValue(), upperBound);
+
+        allocate(0);
+
+        if (stopped) {
+            logger.info(String.format("AO ran out of time with cost %d, lower bound %d, gap %.3f",
+                    upperBound, lowerBound, getOptimalityGap()));
+        } else {
+            this.lowerBound = upperBound;
+        }
+        logger.info("AO searched " + this.schedulesSearched + " states");
+        this.state = stopped ? SchedulerState.STOPPED : SchedulerState.FINISHED;
+        return bestSchedule;
+    }
+
+    /**
+     * Allocates the node at the given position of the topological order to every existing group and to one new group.
+     */
+    private void allocate(int index) {
+        if (isStopped()) {
+            return;
+        }
+        if (index == nodeCount) {
+            orderAllocation();
+            return;
+        }
+
+        int node = topologicalOrder[index];
+        int cost = adjacency.processingCosts[node];
+        int groupLimit = Math.min(groupCount + 1, processorCount);
+
+        for (int g = 0; g < groupLimit; g++) {
+            boolean newGroup = g == groupCount;
+            groups[node] = g;
+            groupLoads[g] += cost;
+            if (newGroup) {
+                groupCount++;
+            }
+
+            this.schedulesSearched++;
+            if (groupLoads[g] < upperBound && allocatedCriticalPath() < upperBound) {
+                allocate(index + 1);
+            }
+
+            if (newGroup) {
+                groupCount--;
+            }
+            groupLoads[g] -= cost;
+            groups[node] = -1;
+        }
+    }
+
+    /**
+     * Length of the longest path through the graph, counting communication costs only on edges between nodes which
+     * are allocated to different groups. Unallocated nodes may still share a group, so this is a lower bound on the
+     * makespan of every completion of the allocation.
+     */
+    private int allocatedCriticalPath() {
+        Arrays.fill(topLevels, 0);
+
+        int criticalPath = 0;
+        for (int node : topologicalOrder) {
+            int finish = topLevels[node] + adjacency.processingCosts[node];
+            criticalPath = Math.max(criticalPath, finish);
+
+            for (int i = adjacency.childOffsets[node]; i < adjacency.childOffsets[node + 1]; i++) {
+                int child = adjacency.children[i];
+                int arrival = finish + communicationCost(node, child, adjacency.childWeights[i]);
+                topLevels[child] = Math.max(topLevels[child], arrival);
+            }
+        }
+
+        return criticalPath;
+    }
+
+    private int communicationCost(int from, int to, int weight) {
+        return groups[from] >= 0 && groups[to] >= 0 && groups[from] != groups[to] ? weight : 0;
+    }
+
+    /**
+     * Prepares the ordering phase for a complete allocation and searches all orderings of it.
+     */
+    private void orderAllocation() {
+        // bottom levels including the communication costs fixed by the allocation
+        for (int i = nodeCount - 1; i >= 0; i--) {
+            int node = topologicalOrder[i];
+            int level = 0;
+            for (int j = adjacency.childOffsets[node]; j < adjacency.childOffsets[node + 1]; j++) {
+                int child = adjacency.children[j];
+                level = Math.max(level, communicationCost(node, child, adjacency.childWeights[j]) + bottomLevels[child]);
+            }
+            bottomLevels[node] = adjacency.processingCosts[node] + level;
+        }
+
+        for (int node = 0; node < nodeCount; node++) {
+            remainingParents[node] = adjacency.parentOffsets[node + 1] - adjacency.parentOffsets[node];
+        }
+        Arrays.fill(processorReady, 0);
+        System.arraycopy(groupLoads, 0, remainingLoads, 0, processorCount);
+
+        order(0, 0, 0, 0);
+    }
+
+    /**
+     * Appends every ready node to its processor, as long as it does not start before the previously appended node.
+     *
+     * @param count     number of nodes ordered so far
+     * @param lastStart start time of the previously appended node
+     * @param lastGroup group of the previously appended node
+     * @param bound     lower bound of the makespan of the current ordering
+     */
+    private void order(int count, int lastStart, int lastGroup, int bound) {
+        if (isStopped()) {
+            return;
+        }
+        if (count == nodeCount) {
+            int makespan = 0;
+            for (int ready : processorReady) {
+                makespan = Math.max(makespan, ready);
+            }
+            if (makespan < upperBound) {
+                recordSchedule(makespan);
+            }
+            return;
+        }
+
+        for (int node = 0; node < nodeCount; node++) {
+            if (ordered[node] || remainingParents[node] != 0) {
+                continue;
+            }
+
+            int g = groups[node];
+            int start = processorReady[g];
+            for (int i = adjacency.parentOffsets[node]; i < adjacency.parentOffsets[node + 1]; i++) {
+                int parent = adjacency.parents[i];
+                int arrival = startTimes[parent] + adjacency.processingCosts[parent]
+                        + communicationCost(parent, node, adjacency.parentWeights[i]);
+                start = Math.max(start, arrival);
+            }
+
+            // canonical order, appending in any other order reaches a schedule which is reached elsewhere
+            if (start < lastStart || (start == lastStart && g < lastGroup)) {
+                continue;
+            }
+
+            int cost = adjacency.processingCosts[node];
+            int previousReady = processorReady[g];
+
+            // apply
+            ordered[node] = true;
+            startTimes[node] = start;
+            processorReady[g] = start + cost;
+            remainingLoads[g] -= cost;
+            for (int i = adjacency.childOffsets[node]; i < adjacency.childOffsets[node + 1]; i++) {
+                remainingParents[adjacency.children[i]]--;
+            }
+            path[count] = node;
+
+            int childBound = Math.max(bound, start + bottomLevels[node]);
+            for (int q = 0; q < groupCount; q++) {
+                childBound = Math.max(childBound, processorReady[q] + remainingLoads[q]);
+            }
+
+            this.schedulesSearched++;
+            if (childBound < upperBound) {
+                order(count + 1, start, g, childBound);
+            }
+
+            // undo
+            for (int i = adjacency.childOffsets[node]; i < adjacency.childOffsets[node + 1]; i++) {
+                remainingParents[adjacency.children[i]]++;
+            }
+            remainingLoads[g] += cost;
+            processorReady[g] = previousReady;
+            ordered[node] = false;
+        }
+    }
+
+    private boolean isStopped() {
+        if (!stopped && deadline.isExpired()) {
+            stopped = true;
+        }
+        return stopped;
+    }
+
+    /**
+     * Replays the current ordering as a Schedule, which places every node at the same start time.
+     */
+    private void recordSchedule(int makespan) {
+        Schedule s = new Schedule(context);
+        for (int node : path) {
+            s = s.expand(node, groups[node] + 1);
+        }
+
+        this.upperBound = makespan;
+        this.bestSchedule = s;
+        this.currentSchedule = s;
+    }
+
+    @Override
+    public SchedulerState getCurrentState() {
+        return this.state;
+    }
+
+    @Override
+    public ISchedule getCurrentSchedule() {
+        return this.currentSchedule;
+    }
+
+    @Override
+    public int getSchedulesSearched() {
+        return this.schedulesSearched;
+    }
+
+    @Override
+    public int getLowerBound() {
+        return this.lowerBound;
+    }
+
+    @Override
+    public int getUpperBound() {
+        return this.upperBound;
+    }
+}
@@ -2,9 +2,7 @@ package task.scheduler.schedule.astar;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import task.scheduler.common.Config;
-import task.scheduler.graph.IGraph;
-import task.scheduler.graph.INode;
+import task.scheduler.common.LongHashSet;
 import task.scheduler.schedule.*;
 
 import java.util.*;
@@ -12,77 +10,74 @@ import java.util.concurrent.*;
 
 public class AStar implements IScheduler {
     private static final Logger logger = LoggerFactory.getLogger(AStar.class);
-    private static SchedulerState state = SchedulerState.NOT_STARTED;
-    private static SchedulerUtils schedulerUtils = new SchedulerUtils();
 
-    private ISchedule currentSchedule;
-    private int schedulesSearched;
+    private SchedulerState state = SchedulerState.NOT_STARTED;
+
+    // children, incumbent and bounds of the running search
+    private volatile Expander search;
 
     public AStar() {
     }
 
     @Override
-    public ISchedule execute(IGraph graph) {
-        // populate global state
-        SchedulerCache.populateTotalNodeWeighting(graph);
-        SchedulerCache.populateSortedNodes(graph);
-        SchedulerCache.populateBottomLevelCache(graph);
+    public ISchedule execute(SchedulingContext context) {
         state = SchedulerState.RUNNING;
+        Deadline deadline = Deadline.start(context);
 
-        Queue<Schedule> open = new PriorityQueue<>();
-        Set<String> closed = new HashSet<>();
+        BucketQueue open = new BucketQueue(BucketQueue.TieBreaking.DEEPEST_FIRST);
+        LongHashSet closed = new LongHashSet();
+        DominanceIndex dominance = new DominanceIndex();
+        FingerprintAudit audit = context.isVerifyFingerprints() ? new FingerprintAudit() : null;
 
-        open.add(new Schedule(graph.getStartNodes(), schedulerUtils.getParentCountMap(graph)));
+        open.add(new Schedule(context));
 
-        int numThreads = Config.getInstance().getNumberOfThreads();
-        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        int nodeCount = context.getNodeCount();
+        int threadCount = context.getThreadCount();
+        ExecutorService executor = threadCount > 1 ? Executors.newFixedThreadPool(threadCount) : null;
 
-        while (!open.isEmpty()) {
-            Schedule s = open.peek();
-            open.remove(s);
+        // best complete schedule found so far, states which cannot beat it are never inserted
+        Expander search = new Expander(open, closed, dominance, audit, ListScheduler.schedule(context));
+        this.search = search;
+        boolean stopped = false;
 
-            if (s.getScheduledNodeCount() == graph.getNodeCount()) {
-                state = SchedulerState.FINISHED;
-                currentSchedule = s;
-                logger.info("ASTAR searched " + this.schedulesSearched + " states");
-                executor.shutdown();
-                return s; // optimal schedule found
+        while (open.getMinKey() < search.getIncumbent().getTotalCost()) {
+            search.raiseLowerBound(open.getMinKey());
+            if (deadline.isExpired()) {
+                stopped = true;
+                break;
             }
 
+            Schedule s = open.poll();
 
-            // submit jobs
-            List<Future<Schedule>> futures = new ArrayList<>();
-            for (INode node : s.getFree()) {
-                for (int i = 1; i <= Config.getInstance().getNumberOfCores(); i++) {
-                    final int p = i;
-
-                    Future<Schedule> future = executor.submit(() -> s.expand(node, p));
-                    futures.add(future);
-                }
+            if (s.getScheduledNodeCount() == nodeCount) {
+                search.improve(s); // optimal schedule found
+                break;
             }
 
-            // collect jobs
-            for (Future<Schedule> future : futures) {
-                try {
-                    Schedule child = future.get();
-
-                    // do not add duplicate states to the priority queue
-                    if (!closed.contains(child.getScheduleString())) {
-                        open.add(child);
-                        closed.add(child.getScheduleString());
-                        this.schedulesSearched++;
-                        this.currentSchedule = child;
-                    }
-                } catch (InterruptedException | ExecutionException e) {
-                    e.printStackTrace();
-                }
+            search.completeGreedily(s);
+
+            // children are evaluated on the calling thread unless there are several threads to split them over
+            if (executor != null) {
+                search.expand(s, executor, threadCount);
+            } else {
+                search.expand(s);
             }
         }
 
-
-        state = SchedulerState.STOPPED;
-        executor.shutdown();
-        return null;
+        Schedule incumbent = search.finish(!stopped);
+        state = stopped ? SchedulerState.STOPPED : SchedulerState.FINISHED;
+        if (stopped) {
+            logger.info(String.format("ASTAR ran out of time with cost %d, lower bound %d, gap %.3f",
+                    getUpperBound(), getLowerBound(), getOptimalityGap()));
+        }
+        logger.info("ASTAR searched " + getSchedulesSearched() + " states, " + search.getDominatedCount()
+                + " dominated states discarded");
+        logger.info(String.format("closed list occupancy %.2f, average probe length %.2f, max probe length %d",
+                closed.getOccupancy(), closed.getAverageProbeLength(), closed.getMaxProbeLength()));
+        if (executor != null) {
+            executor.shutdown();
+        }
+        return incumbent;
     }
 
     @Override
@@ -92,11 +87,25 @@ public class AStar implements IScheduler {
 
     @Override
     public ISchedule getCurrentSchedule() {
-        return this.currentSchedule;
+        Expander search = this.search;
+        return search != null ? search.getCurrentSchedule() : null;
     }
 
     @Override
     public int getSchedulesSearched() {
-        return this.schedulesSearched;
+        Expander search = this.search;
+        return search != null ? search.getSchedulesSearched() : 0;
+    }
+
+    @Override
+    public int getLowerBound() {
+        Expander search = this.search;
+        return search != null ? search.getLowerBound() : 0;
+    }
+
+    @Override
+    public int getUpperBound() {
+        Expander search = this.search;
+        return search != null ? search.getUpperBound() : Integer.MAX_VALUE;
     }
 }
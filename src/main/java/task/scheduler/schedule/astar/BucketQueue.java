@@ -0,0 +1,211 @@
+package task.scheduler.schedule.astar;
+
+import task.scheduler.schedule.Schedule;
+
+import java.util.Arrays;
+
+/**
+ * BucketQueue is an open list for A* which stores schedules in buckets indexed by their f-value (heuristic value).
+ * The f-values are small bounded integers, so both inserting a schedule and removing a schedule with the minimum
+ * f-value are O(1) and need no comparisons. The minimum bucket only moves backwards when a schedule with a lower
+ * f-value than all others is inserted, so finding the next non-empty bucket is amortised over the search.
+ * Each bucket is a stack of fixed size chunks, so it can grow to tens of millions of schedules without ever copying
+ * a large array. Ties within a bucket are broken according to the TieBreaking policy.
+ */
+public class BucketQueue {
+    private static final int CHUNK_SIZE = 1024;
+
+    /**
+     * Order in which schedules with the same f-value are removed.
+     */
+    public enum TieBreaking {
+        /**
+         * The most recently inserted schedule is removed first.
+         */
+        LIFO,
+        /**
+         * The schedule with the most scheduled nodes is removed first, which reaches complete schedules sooner.
+         * Schedules of equal depth are removed in LIFO order.
+         */
+        DEEPEST_FIRST
+    }
+
+    private final TieBreaking tieBreaking;
+    private Bucket[] buckets = new Bucket[64];
+    private int minKey = Integer.MAX_VALUE;
+    private long size;
+
+    public BucketQueue(TieBreaking tieBreaking) {
+        this.tieBreaking = tieBreaking;
+    }
+
+    /**
+     * Inserts a schedule into the bucket of its f-value.
+     *
+     * @param schedule to insert
+     */
+    public void add(Schedule schedule) {
+        int key = schedule.getHeuristicValue();
+        if (key >= buckets.length) {
+            buckets = Arrays.copyOf(buckets, Math.max(key + 1, buckets.length * 2));
+        }
+
+        Bucket bucket = buckets[key];
+        if (bucket == null) {
+            bucket = new Bucket();
+            buckets[key] = bucket;
+        }
+
+        bucket.push(schedule, tieBreaking == TieBreaking.DEEPEST_FIRST ? schedule.getScheduledNodeCount() : 0);
+        size++;
+        minKey = Math.min(minKey, key);
+    }
+
+    /**
+     * Removes a schedule with the minimum f-value.
+     *
+     * @return the removed schedule, or null if the queue is empty
+     */
+    public Schedule poll() {
+        if (size == 0) {
+            return null;
+        }
+
+        Schedule schedule = buckets[getMinKey()].pop();
+        size--;
+        return schedule;
+    }
+
+    /**
+     * Removes the schedule with the most scheduled nodes among the schedules with an f-value of at most maxKey,
+     * the focal list of focal search. Ties are broken by the lower f-value. When tie breaking is LIFO, every schedule
+     * has the same depth, so this removes a schedule with the minimum f-value.
+     *
+     * @param maxKey largest f-value of the focal list
+     * @return the removed schedule, or null if no schedule has an f-value of at most maxKey
+     */
+    public Schedule pollFocal(int maxKey) {
+        Bucket best = null;
+        int bestDepth = -1;
+        for (int key = getMinKey(); key <= maxKey && key < buckets.length; key++) {
+            Bucket bucket = buckets[key];
+            if (bucket != null && bucket.size > 0 && bucket.topDepth() > bestDepth) {
+                best = bucket;
+                bestDepth = bucket.topDepth();
+            }
+        }
+
+        if (best == null) {
+            return null;
+        }
+        size--;
+        return best.pop();
+    }
+
+    /**
+     * @return the minimum f-value of all schedules in the queue, or Integer.MAX_VALUE if the queue is empty
+     */
+    public int getMinKey() {
+        if (size == 0) {
+            return Integer.MAX_VALUE;
+        }
+
+        while (buckets[minKey] == null || buckets[minKey].size == 0) {
+            minKey++;
+        }
+        return minKey;
+    }
+
+    /**
+     * Removes every schedule with an f-value of at least the given bound. Whole buckets are released at once, so
+     * this costs time proportional to the number of buckets rather than the number of schedules.
+     *
+     * @param bound f-value from which schedules are removed
+     * @return the number of schedules removed
+     */
+    public long prune(int bound) {
+        long removed = 0;
+        for (int key = Math.max(0, bound); key < buckets.length; key++) {
+            if (buckets[key] != null) {
+                removed += buckets[key].size;
+                buckets[key] = null;
+            }
+        }
+
+        size -= removed;
+        return removed;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return the number of schedules in the queue
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * A bucket holds one stack of schedules per depth. When tie breaking is LIFO, only depth 0 is used.
+     */
+    private static class Bucket {
+        private Chunk[] stacks = new Chunk[1];
+        private int maxDepth = -1;
+        private long size;
+
+        private void push(Schedule schedule, int depth) {
+            if (depth >= stacks.length) {
+                stacks = Arrays.copyOf(stacks, Math.max(depth + 1, stacks.length * 2));
+            }
+
+            Chunk top = stacks[depth];
+            if (top == null || top.size == CHUNK_SIZE) {
+                top = new Chunk(top);
+                stacks[depth] = top;
+            }
+
+            top.items[top.size++] = schedule;
+            maxDepth = Math.max(maxDepth, depth);
+            size++;
+        }
+
+        /**
+         * @return the depth of the deepest non-empty stack, the bucket must not be empty
+         */
+        private int topDepth() {
+            while (stacks[maxDepth] == null) {
+                maxDepth--;
+            }
+            return maxDepth;
+        }
+
+        private Schedule pop() {
+            topDepth();
+
+            Chunk top = stacks[maxDepth];
+            Schedule schedule = top.items[--top.size];
+            top.items[top.size] = null;
+            if (top.size == 0) {
+                stacks[maxDepth] = top.previous;
+            }
+
+            size--;
+            return schedule;
+        }
+    }
+
+    /**
+     * A fixed size segment of a stack, linked to the segment below it.
+     */
+    private static class Chunk {
+        private final Schedule[] items = new Schedule[CHUNK_SIZE];
+        private final Chunk previous;
+        private int size;
+
+        private Chunk(Chunk previous) {
+            this.previous = previous;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package task.scheduler.schedule.astar;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import task.scheduler.common.LongHashSet;
+import task.scheduler.schedule.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Expander generates the children of the states an A* search expands, and keeps the incumbent and the bounds of the
+ * search. A child is only inserted into the open list if it may beat the incumbent, its fingerprint is not in the
+ * closed list, and no schedule in the dominance index dominates it. The expanding scheduler owns the loop which
+ * chooses the states to expand, and reads its progress through this class, so it is safe to read from another thread.
+ */
+class Expander {
+    private static final Logger logger = LoggerFactory.getLogger(Expander.class);
+
+    // number of expansions between greedy completions of the expanded state
+    private static final int GREEDY_INTERVAL = 256;
+
+    private final BucketQueue open;
+    private LongHashSet closed;
+    private DominanceIndex dominance;
+    private final FingerprintAudit audit;
+    private final Schedule.Expansion expansion = Schedule.Expansion.local();
+
+    // best complete schedule found so far
+    private Schedule incumbent;
+    private long expansions;
+
+    private volatile ISchedule currentSchedule;
+    private volatile int schedulesSearched;
+    private volatile int lowerBound;
+    private volatile int upperBound;
+
+    /**
+     * @param open      list the children are inserted into
+     * @param closed    fingerprints of every state inserted so far
+     * @param dominance index of the states inserted so far
+     * @param audit     to verify fingerprints against, or null
+     * @param incumbent complete schedule to beat
+     */
+    Expander(BucketQueue open, LongHashSet closed, DominanceIndex dominance, FingerprintAudit audit,
+             Schedule incumbent) {
+        this.open = open;
+        this.closed = closed;
+        this.dominance = dominance;
+        this.audit = audit;
+        this.incumbent = incumbent;
+        this.upperBound = incumbent.getTotalCost();
+    }
+
+    /**
+     * Inserts every child of the given state which may beat the incumbent, and releases the state, which is only kept
+     * as an ancestor of its children from then on.
+     *
+     * @param s state to expand
+     */
+    void expand(Schedule s) {
+        int processorLimit = s.getProcessorLimit();
+        for (int node = s.nextCandidateNode(0); node >= 0; node = s.nextCandidateNode(node + 1)) {
+            for (int p = 1; p <= processorLimit; p++) {
+                s.evaluate(node, p, expansion);
+
+                // states which cannot beat the incumbent are dropped before they are created
+                if (expansion.getHeuristicValue() >= incumbent.getTotalCost()) {
+                    continue;
+                }
+
+                // the audit compares schedule strings, so the child is created before the closed list is checked
+                Schedule child = audit != null ? s.materialise(expansion) : null;
+                boolean collision = child != null && audit.isCollision(child);
+                if (!closed.add(expansion.getFingerprint()) && !collision) {
+                    continue;
+                }
+                insert(child != null ? child : s.materialise(expansion));
+            }
+        }
+
+        s.release();
+    }
+
+    /**
+     * Expands the given state as expand does, with the children evaluated in one chunk per thread. A chunk creates the
+     * children which may beat the incumbent and are not in the closed list, which is only read until every chunk is
+     * done. They are then inserted on the calling thread.
+     *
+     * @param s        state to expand
+     * @param executor to evaluate the chunks on
+     * @param threads  number of chunks
+     */
+    void expand(Schedule s, ExecutorService executor, int threads) {
+        int processorLimit = s.getProcessorLimit();
+        int[] placements = new int[s.getContext().getNodeCount() * processorLimit];
+        int count = 0;
+        for (int node = s.nextCandidateNode(0); node >= 0; node = s.nextCandidateNode(node + 1)) {
+            for (int p = 0; p < processorLimit; p++) {
+                placements[count++] = node * processorLimit + p;
+            }
+        }
+
+        int bound = incumbent.getTotalCost();
+        int chunkSize = (count + threads - 1) / threads;
+        List<Future<List<Schedule>>> chunks = new ArrayList<>(threads);
+        for (int from = 0; from < count; from += chunkSize) {
+            final int start = from;
+            final int end = Math.min(count, from + chunkSize);
+            chunks.add(executor.submit(() -> {
+                Schedule.Expansion expansion = Schedule.Expansion.local();
+                List<Schedule> children = new ArrayList<>(end - start);
+                for (int i = start; i < end; i++) {
+                    s.evaluate(placements[i] / processorLimit, placements[i] % processorLimit + 1, expansion);
+
+                    // with auditing every child is created, as the audit compares schedule strings
+                    if (expansion.getHeuristicValue() < bound
+                            && (audit != null || !closed.contains(expansion.getFingerprint()))) {
+                        children.add(s.materialise(expansion));
+                    }
+                }
+                return children;
+            }));
+        }
+
+        for (Future<List<Schedule>> chunk : chunks) {
+            try {
+                for (Schedule child : chunk.get()) {
+                    offer(child);
+                }
+            } catch (InterruptedException | ExecutionException e) {
+                e.printStackTrace();
+            }
+        }
+
+        s.release();
+    }
+
+    /**
+     * Inserts a child which was already created, unless it cannot beat the incumbent or is a duplicate.
+     *
+     * @param child to insert
+     */
+    void offer(Schedule child) {
+        if (child.getHeuristicValue() >= incumbent.getTotalCost()) {
+            return;
+        }
+
+        boolean collision = audit != null && audit.isCollision(child);
+        if (closed.add(child.getFingerprint()) || collision) {
+            insert(child);
+        }
+    }
+
+    private void insert(Schedule child) {
+        // do not add dominated states to the priority queue
+        if (dominance.add(child)) {
+            open.add(child);
+            this.schedulesSearched++;
+            this.currentSchedule = child;
+        }
+    }
+
+    /**
+     * Counts an expansion and periodically completes the expanded state greedily, which may tighten the incumbent.
+     * The open list is pruned against an improved incumbent.
+     *
+     * @param s state about to be expanded
+     */
+    void completeGreedily(Schedule s) {
+        if (++expansions % GREEDY_INTERVAL != 0) {
+            return;
+        }
+
+        Schedule completion = ListScheduler.complete(s);
+        if (improve(completion)) {
+            long pruned = open.prune(incumbent.getTotalCost());
+            logger.debug("incumbent improved to " + incumbent.getTotalCost() + ", pruned " + pruned + " states");
+        }
+    }
+
+    /**
+     * @param complete schedule of every node
+     * @return true if the schedule beats and replaces the incumbent
+     */
+    boolean improve(Schedule complete) {
+        if (complete.getTotalCost() >= incumbent.getTotalCost()) {
+            return false;
+        }
+        this.incumbent = complete;
+        this.upperBound = complete.getTotalCost();
+        return true;
+    }
+
+    /**
+     * Raises the lower bound to the minimum f-value of the open list, as no open state is below it and so neither is
+     * an optimal schedule. The lower bound never passes the cost of the incumbent.
+     *
+     * @param minKey minimum f-value of the open list
+     */
+    void raiseLowerBound(int minKey) {
+        this.lowerBound = Math.max(this.lowerBound, Math.min(minKey, incumbent.getTotalCost()));
+    }
+
+    /**
+     * Ends the search, after which the incumbent is the current schedule.
+     *
+     * @param optimal true if no state which may beat the incumbent is left
+     * @return the incumbent
+     */
+    Schedule finish(boolean optimal) {
+        if (optimal) {
+            this.lowerBound = incumbent.getTotalCost();
+        }
+        this.currentSchedule = incumbent;
+        return incumbent;
+    }
+
+    /**
+     * Drops the closed list and the dominance index, so their memory can be reclaimed. No state may be expanded
+     * afterwards.
+     */
+    void releaseClosedList() {
+        this.closed = null;
+        this.dominance = null;
+    }
+
+    Schedule getIncumbent() {
+        return this.incumbent;
+    }
+
+    long getDominatedCount() {
+        return this.dominance.getDominatedCount();
+    }
+
+    ISchedule getCurrentSchedule() {
+        return this.currentSchedule;
+    }
+
+    int getSchedulesSearched() {
+        return this.schedulesSearched;
+    }
+
+    int getLowerBound() {
+        return this.lowerBound;
+    }
+
+    int getUpperBound() {
+        return this.upperBound;
+    }
+}
@@ -0,0 +1,373 @@
+package task.scheduler.schedule.astar;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import task.scheduler.schedule.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * External memory A*, for graphs whose search needs more states than fit on the heap. The open list lives in one
+ * file per f-value in a temporary directory below the bucket directory of the context, which should be on local disk
+ * rather than the system temporary directory, as that may be held in memory. Each file holds fixed size records of a
+ * fingerprint followed by the binary encoding of a schedule. Children never have a lower f-value than their parent,
+ * so the buckets are expanded in f-value order and the first complete schedule found is optimal.
+ * Duplicate detection is delayed: a bucket is read back in rounds, each round is sorted by fingerprint, and a sorted
+ * merge against the fingerprints already expanded at this f-value drops the duplicates. A state always has the same
+ * f-value, so its duplicates always meet in the same bucket. Only the bucket being expanded and the fingerprints
+ * expanded at its f-value are on the heap, besides one write buffer per bucket.
+ * Fingerprint collisions are not audited, as only the encoded schedules are kept.
+ */
+public class ExternalAStar implements IScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(ExternalAStar.class);
+
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+    // number of expansions between greedy completions of the expanded state
+    private static final int GREEDY_INTERVAL = 256;
+
+    private volatile SchedulerState state = SchedulerState.NOT_STARTED;
+    private volatile ISchedule currentSchedule;
+    private volatile int schedulesSearched;
+    private volatile int lowerBound;
+    private volatile int upperBound = Integer.MAX_VALUE;
+
+    private SchedulingContext context;
+    private Path directory;
+    private BucketFile[] buckets = new BucketFile[64];
+    private int recordSize;
+    private ByteBuffer record;
+
+    private Schedule incumbent;
+    private long expansions;
+    private long duplicates;
+    private long bytesWritten;
+
+    public ExternalAStar() {
+    }
+
+    @Override
+    public ISchedule execute(SchedulingContext context) {
+        this.state = SchedulerState.RUNNING;
+        this.context = context;
+        this.recordSize = 8 + Schedule.encodedSize(context);
+        this.record = ByteBuffer.allocate(recordSize);
+
+        this.incumbent = ListScheduler.schedule(context);
+        this.upperBound = incumbent.getTotalCost();
+        Deadline deadline = Deadline.start(context);
+        boolean stopped = false;
+
+        try {
+            this.directory = Files.createTempDirectory(context.getBucketDirectory().toPath(), "task-scheduler-");
+            write(new Schedule(context));
+
+            int nodeCount = context.getNodeCount();
+            int key = 0;
+            search:
+            while (true) {
+                // the next non-empty bucket, buckets below the current one never receive states again
+                while (key < buckets.length && (buckets[key] == null || buckets[key].records == 0)) {
+                    key++;
+                }
+                if (key >= incumbent.getTotalCost() || key == buckets.length) {
+                    break;
+                }
+                this.lowerBound = key;
+
+                long[] expanded = new long[0];
+                BucketFile bucket = buckets[key];
+                while (bucket.records > 0) {
+                    if (deadline.isExpired()) {
+                        stopped = true;
+                        break search;
+                    }
+
+                    ByteBuffer states = bucket.readAll();
+                    int count = states.limit() / recordSize;
+
+                    // sort the round by fingerprint, keeping the position of every record
+                    long[] fingerprints = new long[count];
+                    int[] positions = new int[count];
+                    for (int i = 0; i < count; i++) {
+                        fingerprints[i] = states.getLong(i * recordSize);
+                        positions[i] = i * recordSize;
+                    }
+                    sort(fingerprints, positions, 0, count - 1);
+
+                    // sorted merge against the fingerprints expanded in earlier rounds
+                    long[] fresh = new long[count];
+                    int freshCount = 0;
+                    int j = 0;
+                    for (int i = 0; i < count; i++) {
+                        long fingerprint = fingerprints[i];
+                        while (j < expanded.length && expanded[j] < fingerprint) {
+                            j++;
+                        }
+                        if ((i > 0 && fingerprints[i - 1] == fingerprint)
+                                || (j < expanded.length && expanded[j] == fingerprint)) {
+                            duplicates++;
+                            continue;
+                        }
+                        fresh[freshCount++] = fingerprint;
+
+                        states.position(positions[i] + 8);
+                        Schedule s = Schedule.decode(context, states);
+                        if (s.getScheduledNodeCount() == nodeCount) {
+                            // no open state has a lower f-value, so this schedule is optimal
+                            if (s.getTotalCost() < incumbent.getTotalCost()) {
+                                updateIncumbent(s);
+                            }
+                            break search;
+                        }
+                        expand(s);
+
+                        // a greedy completion may have reached the lower bound, and deleted this bucket
+                        if (incumbent.getTotalCost() <= key) {
+                            break search;
+                        }
+                    }
+
+                    expanded = merge(expanded, fresh, freshCount);
+                }
+
+                bucket.delete();
+                buckets[key] = null;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deleteAll();
+        }
+
+        if (!stopped) {
+            this.lowerBound = incumbent.getTotalCost();
+        }
+        logger.info(String.format("EXASTAR cost %d, lower bound %d, %d expansions, %d duplicates, %d MiB written",
+                upperBound, lowerBound, expansions, duplicates, bytesWritten >> 20));
+        this.currentSchedule = incumbent;
+        this.state = stopped ? SchedulerState.STOPPED : SchedulerState.FINISHED;
+        return incumbent;
+    }
+
+    /**
+     * Writes the children of a state to the buckets of their f-values, dropping those which cannot beat the incumbent.
+     */
+    private void expand(Schedule s) throws IOException {
+        // periodically complete the state greedily, which may tighten the incumbent
+        if (++expansions % GREEDY_INTERVAL == 0) {
+            Schedule completion = ListScheduler.complete(s);
+            if (completion.getTotalCost() < incumbent.getTotalCost()) {
+                updateIncumbent(completion);
+            }
+        }
+
+        Schedule.Expansion expansion = Schedule.Expansion.local();
+        int processorLimit = s.getProcessorLimit();
+        for (int node = s.nextCandidateNode(0); node >= 0; node = s.nextCandidateNode(node + 1)) {
+            for (int p = 1; p <= processorLimit; p++) {
+                s.evaluate(node, p, expansion);
+                if (expansion.getHeuristicValue() < incumbent.getTotalCost()) {
+                    Schedule child = s.materialise(expansion);
+                    write(child);
+                    this.schedulesSearched++;
+                    this.currentSchedule = child;
+                }
+            }
+        }
+    }
+
+    /**
+     * Records a better complete schedule and deletes the buckets which can no longer beat it.
+     */
+    private void updateIncumbent(Schedule s) throws IOException {
+        this.incumbent = s;
+        this.upperBound = s.getTotalCost();
+        for (int key = s.getTotalCost(); key < buckets.length; key++) {
+            if (buckets[key] != null) {
+                buckets[key].delete();
+                buckets[key] = null;
+            }
+        }
+    }
+
+    private void write(Schedule s) throws IOException {
+        int key = s.getHeuristicValue();
+        if (key >= buckets.length) {
+            buckets = Arrays.copyOf(buckets, Math.max(key + 1, buckets.length * 2));
+        }
+        if (buckets[key] == null) {
+            buckets[key] = new BucketFile(directory.resolve("f" + key + ".bucket"), recordSize);
+        }
+
+        record.clear();
+        record.putLong(s.getFingerprint());
+        s.encode(record);
+        record.flip();
+        buckets[key].append(record);
+        bytesWritten += recordSize;
+    }
+
+    private void deleteAll() {
+        try {
+            for (BucketFile bucket : buckets) {
+                if (bucket != null) {
+                    bucket.delete();
+                }
+            }
+            if (directory != null) {
+                Files.deleteIfExists(directory);
+            }
+        } catch (IOException e) {
+            logger.warn("could not delete bucket files in " + directory + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Merges two sorted fingerprint arrays.
+     */
+    private static long[] merge(long[] a, long[] b, int bLength) {
+        long[] merged = new long[a.length + bLength];
+        int i = 0, j = 0, k = 0;
+        while (i < a.length && j < bLength) {
+            merged[k++] = a[i] <= b[j] ? a[i++] : b[j++];
+        }
+        while (i < a.length) {
+            merged[k++] = a[i++];
+        }
+        while (j < bLength) {
+            merged[k++] = b[j++];
+        }
+        return merged;
+    }
+
+    /**
+     * Sorts the keys in place with quicksort, applying the same swaps to the values.
+     */
+    private static void sort(long[] keys, int[] values, int low, int high) {
+        while (low < high) {
+            long pivot = keys[(low + high) >>> 1];
+            int i = low, j = high;
+            while (i <= j) {
+                while (keys[i] < pivot) {
+                    i++;
+                }
+                while (keys[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    long key = keys[i];
+                    keys[i] = keys[j];
+                    keys[j] = key;
+                    int value = values[i];
+                    values[i] = values[j];
+                    values[j] = value;
+                    i++;
+                    j--;
+                }
+            }
+
+            // recurse into the smaller half, so the stack depth stays logarithmic
+            if (j - low < high - i) {
+                sort(keys, values, low, j);
+                low = i;
+            } else {
+                sort(keys, values, i, high);
+                high = j;
+            }
+        }
+    }
+
+    /**
+     * File of the fixed size records of one f-value, appended through a write buffer and read back whole.
+     */
+    private static class BucketFile {
+        private final Path path;
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private long records;
+
+        private BucketFile(Path path, int recordSize) throws IOException {
+            this.path = path;
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            this.buffer = ByteBuffer.allocate(Math.max(1, WRITE_BUFFER_SIZE / recordSize) * recordSize);
+        }
+
+        private void append(ByteBuffer record) throws IOException {
+            if (buffer.remaining() < record.remaining()) {
+                flush();
+            }
+            buffer.put(record);
+            records++;
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        /**
+         * Reads every record of the bucket onto the heap and empties the file.
+         */
+        private ByteBuffer readAll() throws IOException {
+            flush();
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalStateException("bucket " + path + " of " + size + " bytes does not fit on the heap");
+            }
+
+            ByteBuffer states = ByteBuffer.allocate((int) size);
+            while (states.hasRemaining()) {
+                if (channel.read(states, states.position()) < 0) {
+                    break;
+                }
+            }
+            states.flip();
+
+            channel.truncate(0);
+            channel.position(0);
+            records = 0;
+            return states;
+        }
+
+        private void delete() throws IOException {
+            channel.close();
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Override
+    public SchedulerState getCurrentState() {
+        return this.state;
+    }
+
+    @Override
+    public ISchedule getCurrentSchedule() {
+        return this.currentSchedule;
+    }
+
+    @Override
+    public int getSchedulesSearched() {
+        return this.schedulesSearched;
+    }
+
+    @Override
+    public int getLowerBound() {
+        return this.lowerBound;
+    }
+
+    @Override
+    public int getUpperBound() {
+        return this.upperBound;
+    }
+}
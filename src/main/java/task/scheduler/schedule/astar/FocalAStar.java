@@ -0,0 +1,123 @@
+package task.scheduler.schedule.astar;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import task.scheduler.common.LongHashSet;
+import task.scheduler.schedule.*;
+
+/**
+ * Bounded-suboptimal focal search (A*_ε). The open list is ordered by f-value as in AStar, but instead of a state with
+ * the minimum f-value, the deepest state whose f-value is within a factor (1 + ε) of the minimum is expanded, which
+ * dives towards complete schedules. The minimum f-value of the open list is a lower bound on the optimal cost, so the
+ * search stops as soon as the best complete schedule found costs at most (1 + ε) times this bound. The achieved
+ * bound is often well below the factor asked for. With ε = 0 this is AStar.
+ */
+public class FocalAStar implements IScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(FocalAStar.class);
+
+    private SchedulerState state = SchedulerState.NOT_STARTED;
+
+    // children, incumbent and bounds of the running search
+    private volatile Expander search;
+
+    public FocalAStar() {
+    }
+
+    @Override
+    public ISchedule execute(SchedulingContext context) {
+        state = SchedulerState.RUNNING;
+        Deadline deadline = Deadline.start(context);
+        double factor = 1 + context.getSuboptimality();
+
+        BucketQueue open = new BucketQueue(BucketQueue.TieBreaking.DEEPEST_FIRST);
+        DominanceIndex dominance = new DominanceIndex();
+        FingerprintAudit audit = context.isVerifyFingerprints() ? new FingerprintAudit() : null;
+        Expander search = new Expander(open, new LongHashSet(), dominance, audit, ListScheduler.schedule(context));
+        this.search = search;
+
+        open.add(new Schedule(context));
+
+        int nodeCount = context.getNodeCount();
+        boolean stopped = false;
+
+        while (true) {
+            int minKey = open.getMinKey();
+            search.raiseLowerBound(minKey);
+
+            // the incumbent is within the bound of every schedule still reachable
+            if (minKey == Integer.MAX_VALUE || search.getIncumbent().getTotalCost() <= focalBound(minKey, factor)) {
+                break;
+            }
+            if (deadline.isExpired()) {
+                stopped = true;
+                break;
+            }
+
+            Schedule s = open.pollFocal(focalBound(minKey, factor));
+
+            if (s.getScheduledNodeCount() == nodeCount) {
+                search.improve(s);
+                continue;
+            }
+
+            search.completeGreedily(s);
+            search.expand(s);
+        }
+
+        // the lower bound is the minimum f-value of the open list, which is the incumbent once the list is empty
+        Schedule incumbent = search.finish(false);
+        state = stopped ? SchedulerState.STOPPED : SchedulerState.FINISHED;
+        logger.info(String.format("FOCAL cost %d, lower bound %d, within a factor %.3f of optimal (%.3f requested)",
+                getUpperBound(), getLowerBound(), getAchievedBound(), factor));
+        logger.info("FOCAL searched " + getSchedulesSearched() + " states, " + dominance.getDominatedCount()
+                + " dominated states discarded");
+        return incumbent;
+    }
+
+    /**
+     * Largest f-value of the focal list, every state within a factor of the minimum f-value.
+     */
+    private static int focalBound(int minKey, double factor) {
+        return (int) Math.min(Integer.MAX_VALUE - 1, Math.floor(minKey * factor));
+    }
+
+    /**
+     * Returns the factor the returned schedule is proven to be within of the optimal cost, which is at most 1 + ε
+     * unless the time budget ran out.
+     *
+     * @return the upper bound divided by the lower bound
+     */
+    public double getAchievedBound() {
+        int lower = getLowerBound();
+        return lower == 0 ? Double.POSITIVE_INFINITY : (double) getUpperBound() / lower;
+    }
+
+    @Override
+    public SchedulerState getCurrentState() {
+        return this.state;
+    }
+
+    @Override
+    public ISchedule getCurrentSchedule() {
+        Expander search = this.search;
+        return search != null ? search.getCurrentSchedule() : null;
+    }
+
+    @Override
+    public int getSchedulesSearched() {
+        Expander search = this.search;
+        return search != null ? search.getSchedulesSearched() : 0;
+    }
+
+    @Override
+    public int getLowerBound() {
+        Expander search = this.search;
+        return search != null ? search.getLowerBound() : 0;
+    }
+
+    @Override
+    public int getUpperBound() {
+        Expander search = this.search;
+        return search != null ? search.getUpperBound() : Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,224 @@
+package task.scheduler.schedule.astar;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import task.scheduler.common.LongObjectHashMap;
+import task.scheduler.schedule.*;
+
+import java.util.Arrays;
+
+/**
+ * Frontier A*, which keeps only the open list and no closed list. Expanded states are not recorded, but every open
+ * state refers to its parent, so an expanded state stays in memory, released to its placement, for as long as any of
+ * its descendants is open. Only the expanded states without an open descendant are forgotten. The saving over AStar
+ * is therefore the closed list entry and dominance index entry of every state, and the expanded states whose
+ * subtrees have been pruned or fully expanded, rather than every expanded state.
+ * Schedules only ever grow, so a state is never regenerated by its own children. Its duplicates come from placing
+ * the same nodes in a different order instead. Every open state records the operators, a node and a processor,
+ * which must not be applied to it: when two sibling placements commute, reaching the same schedule in either order,
+ * the later sibling blocks the earlier placement, so the transposition is only generated through the earlier
+ * sibling. Duplicates which meet while still open are merged and nothing stays blocked, as the fingerprint ignores
+ * processor labels and the operators of the two paths may refer to different processors. Duplicates of states
+ * which were already expanded are expanded again, which costs time but not correctness. Without a closed list, the
+ * dominance index is not used either.
+ */
+public class FrontierAStar implements IScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(FrontierAStar.class);
+
+    // number of expansions between greedy completions of the expanded state
+    private static final int GREEDY_INTERVAL = 256;
+    private static final long[] NONE_BLOCKED = new long[0];
+
+    private volatile SchedulerState state = SchedulerState.NOT_STARTED;
+    private volatile ISchedule currentSchedule;
+    private volatile int schedulesSearched;
+    private volatile int lowerBound;
+    private volatile int upperBound = Integer.MAX_VALUE;
+
+    private int processorCount;
+
+    public FrontierAStar() {
+    }
+
+    @Override
+    public ISchedule execute(SchedulingContext context) {
+        state = SchedulerState.RUNNING;
+        Deadline deadline = Deadline.start(context);
+        this.processorCount = context.getProcessorCount();
+        int nodeCount = context.getNodeCount();
+
+        BucketQueue open = new BucketQueue(BucketQueue.TieBreaking.DEEPEST_FIRST);
+        // blocked operators of every open state, keyed by fingerprint, a state is open exactly while it is in here
+        LongObjectHashMap<long[]> blocked = new LongObjectHashMap<>();
+
+        Schedule root = new Schedule(context);
+        open.add(root);
+        blocked.put(root.getFingerprint(), NONE_BLOCKED);
+
+        Schedule incumbent = ListScheduler.schedule(context);
+        this.upperBound = incumbent.getTotalCost();
+        long expansions = 0;
+        long merged = 0;
+        long maxOpen = 1;
+        boolean stopped = false;
+
+        Schedule.Expansion expansion = Schedule.Expansion.local();
+        Schedule[] children = new Schedule[nodeCount * processorCount];
+        int[] operators = new int[nodeCount * processorCount];
+        int[] startTimes = new int[nodeCount * processorCount];
+
+        while (open.getMinKey() < incumbent.getTotalCost()) {
+            this.lowerBound = Math.max(this.lowerBound, open.getMinKey());
+            if (deadline.isExpired()) {
+                stopped = true;
+                break;
+            }
+
+            Schedule s = open.poll();
+            long[] blockedOperators = blocked.remove(s.getFingerprint());
+
+            if (s.getScheduledNodeCount() == nodeCount) {
+                incumbent = s; // optimal schedule found
+                this.upperBound = incumbent.getTotalCost();
+                break;
+            }
+
+            // periodically complete the state greedily, which may tighten the incumbent
+            if (++expansions % GREEDY_INTERVAL == 0) {
+                Schedule completion = ListScheduler.complete(s);
+                if (completion.getTotalCost() < incumbent.getTotalCost()) {
+                    incumbent = completion;
+                    this.upperBound = incumbent.getTotalCost();
+                }
+            }
+
+            // generate every child which is not blocked, states which cannot beat the incumbent are dropped before they
+            // are created
+            int childCount = 0;
+            int processorLimit = s.getProcessorLimit();
+            for (int node = s.nextCandidateNode(0); node >= 0; node = s.nextCandidateNode(node + 1)) {
+                for (int p = 1; p <= processorLimit; p++) {
+                    int operator = operator(node, p);
+                    if (isSet(blockedOperators, operator)) {
+                        continue;
+                    }
+
+                    s.evaluate(node, p, expansion);
+                    if (expansion.getHeuristicValue() < incumbent.getTotalCost()) {
+                        operators[childCount] = operator;
+                        startTimes[childCount] = expansion.getStartTime();
+                        children[childCount++] = s.materialise(expansion);
+                    }
+                }
+            }
+
+            for (int i = 0; i < childCount; i++) {
+                Schedule child = children[i];
+
+                // earlier siblings which commute with this child reach their common descendant first. A dropped
+                // sibling blocks nothing, as every descendant of it is dropped as well
+                long[] childBlocked = NONE_BLOCKED;
+                for (int j = 0; j < i; j++) {
+                    if (commute(operators[j], startTimes[j], children[j], operators[i], startTimes[i], child)) {
+                        childBlocked = set(childBlocked, operators[j]);
+                    }
+                }
+
+                long[] existing = blocked.get(child.getFingerprint());
+                if (existing == null) {
+                    blocked.put(child.getFingerprint(), childBlocked);
+                    open.add(child);
+                    this.schedulesSearched++;
+                    this.currentSchedule = child;
+                } else {
+                    // an open duplicate, possibly with other processor labels, so nothing stays blocked
+                    if (existing != NONE_BLOCKED) {
+                        blocked.put(child.getFingerprint(), NONE_BLOCKED);
+                    }
+                    merged++;
+                }
+            }
+
+            // the blocking checks rebuilt the assignments of the children, which only need their placements while open
+            for (int i = 0; i < childCount; i++) {
+                children[i].release();
+                children[i] = null;
+            }
+            s.release();
+            maxOpen = Math.max(maxOpen, open.size());
+        }
+
+        if (!stopped) {
+            this.lowerBound = incumbent.getTotalCost();
+        }
+        state = stopped ? SchedulerState.STOPPED : SchedulerState.FINISHED;
+        currentSchedule = incumbent;
+        logger.info(String.format("FRONTIER searched %d states with %d expansions, %d open duplicates merged, "
+                + "at most %d states open", this.schedulesSearched, expansions, merged, maxOpen));
+        return incumbent;
+    }
+
+    /**
+     * Two operators applied to a state commute if each can still be applied after the other, at the same start
+     * time it has on the state, so both orders reach the same schedule. Operators on the same processor never
+     * commute.
+     */
+    private boolean commute(int first, int firstStartTime, Schedule afterFirst,
+                            int second, int secondStartTime, Schedule afterSecond) {
+        int firstNode = first / processorCount, firstProcessor = first % processorCount + 1;
+        int secondNode = second / processorCount, secondProcessor = second % processorCount + 1;
+
+        return firstProcessor != secondProcessor
+                && isApplicable(afterFirst, secondNode, secondProcessor, secondStartTime)
+                && isApplicable(afterSecond, firstNode, firstProcessor, firstStartTime);
+    }
+
+    /**
+     * @return true if the node is a candidate of the state and would start at the given time on the processor
+     */
+    private static boolean isApplicable(Schedule s, int node, int processor, int startTime) {
+        return s.nextCandidateNode(node) == node && processor <= s.getProcessorLimit()
+                && s.minStartTime(node, processor) == startTime;
+    }
+
+    private int operator(int node, int processor) {
+        return node * processorCount + processor - 1;
+    }
+
+    private static boolean isSet(long[] bits, int index) {
+        int word = index >>> 6;
+        return word < bits.length && (bits[word] & (1L << index)) != 0;
+    }
+
+    private static long[] set(long[] bits, int index) {
+        int word = index >>> 6;
+        long[] result = bits.length > word ? bits : Arrays.copyOf(bits, word + 1);
+        result[word] |= 1L << index;
+        return result;
+    }
+
+    @Override
+    public SchedulerState getCurrentState() {
+        return this.state;
+    }
+
+    @Override
+    public ISchedule getCurrentSchedule() {
+        return this.currentSchedule;
+    }
+
+    @Override
+    public int getSchedulesSearched() {
+        return this.schedulesSearched;
+    }
+
+    @Override
+    public int getLowerBound() {
+        return this.lowerBound;
+    }
+
+    @Override
+    public int getUpperBound() {
+        return this.upperBound;
+    }
+}
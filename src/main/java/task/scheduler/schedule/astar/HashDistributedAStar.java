@@ -0,0 +1,350 @@
+package task.scheduler.schedule.astar;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import task.scheduler.common.LongHashSet;
+import task.scheduler.schedule.*;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hash distributed A* (HDA*). Every state is owned by exactly one worker, chosen by the high bits of its
+ * fingerprint, so each worker keeps its own open and closed lists without any locking and duplicates are always
+ * detected by the owner. Generated children are buffered per destination worker and sent in batches through
+ * lock-free queues. Complete schedules update a shared incumbent, and states which cannot improve on it are
+ * discarded. The search terminates once no worker holds a state below the incumbent and no batch is in flight.
+ */
+public class HashDistributedAStar implements IScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(HashDistributedAStar.class);
+
+    private static final int BATCH_SIZE = 64;
+    // outgoing batches are flushed at least this often, in expansions, so other workers are not starved
+    private static final int FLUSH_INTERVAL = 16;
+    private static final long IDLE_PARK_NANOS = 50_000;
+
+    private SchedulerState state = SchedulerState.NOT_STARTED;
+    private SchedulingContext context;
+    private FingerprintAudit audit;
+    private Worker[] workers;
+
+    private final AtomicInteger upperBound = new AtomicInteger(Integer.MAX_VALUE);
+    private volatile Schedule bestSchedule;
+    private volatile int lowerBound;
+    private Deadline deadline;
+    private volatile boolean stopped;
+
+    // number of active workers plus the number of batches in flight, the search is over once it reaches zero
+    private final AtomicLong work = new AtomicLong();
+    private volatile boolean finished;
+
+    private volatile ISchedule currentSchedule;
+    private final LongAdder schedulesSearched = new LongAdder();
+
+    public HashDistributedAStar() {
+    }
+
+    @Override
+    public ISchedule execute(SchedulingContext context) {
+        this.context = context;
+        this.audit = context.isVerifyFingerprints() ? new FingerprintAudit() : null;
+        this.deadline = Deadline.start(context);
+        state = SchedulerState.RUNNING;
+
+        int workerCount = context.getThreadCount();
+        this.workers = new Worker[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            workers[i] = new Worker(i);
+        }
+
+        // a greedy schedule is the initial incumbent
+        updateBestSchedule(ListScheduler.schedule(context));
+
+        Schedule root = new Schedule(context);
+        this.lowerBound = Math.min(root.getHeuristicValue(), upperBound.get());
+        workers[owner(root.getFingerprint())].receive(root);
+
+        // every worker starts active, idle workers immediately give up their share
+        work.set(workerCount);
+        Thread[] threads = new Thread[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            threads[i] = new Thread(workers[i], "hdastar-" + i);
+            threads[i].start();
+        }
+
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                e.printStackTrace();
+            }
+        }
+
+        if (stopped) {
+            this.lowerBound = Math.max(this.lowerBound, frontierBound());
+            logger.info(String.format("HDASTAR ran out of time with cost %d, lower bound %d, gap %.3f",
+                    upperBound.get(), lowerBound, getOptimalityGap()));
+        } else {
+            // no state below the incumbent is left anywhere, so it is optimal
+            this.lowerBound = upperBound.get();
+        }
+
+        logger.info("HDASTAR searched " + this.schedulesSearched.sum() + " states");
+        for (Worker worker : workers) {
+            logger.info(String.format("worker %d: %d expanded, %d received, %d closed", worker.id,
+                    worker.expanded, worker.received, worker.closed.size()));
+        }
+
+        state = stopped ? SchedulerState.STOPPED : SchedulerState.FINISHED;
+        return bestSchedule;
+    }
+
+    /**
+     * Minimum f-value of the states left unsearched, once every worker has stopped. The workers flush their outgoing
+     * buffers before they stop, so every such state is either in an open list or in a batch still queued in an inbox.
+     *
+     * @return the minimum f-value of the unsearched states, capped at the incumbent
+     */
+    private int frontierBound() {
+        int bound = upperBound.get();
+        for (Worker worker : workers) {
+            bound = Math.min(bound, worker.open.getMinKey());
+            for (Schedule[] batch : worker.inbox) {
+                for (Schedule s : batch) {
+                    bound = Math.min(bound, s.getHeuristicValue());
+                }
+            }
+        }
+        return bound;
+    }
+
+    /**
+     * @return the index of the worker which owns the state with the given fingerprint
+     */
+    private int owner(long fingerprint) {
+        return (int) ((fingerprint >>> 32) % workers.length);
+    }
+
+    /**
+     * Records a complete schedule if it is shorter than the best one found so far.
+     */
+    private synchronized void updateBestSchedule(Schedule s) {
+        if (s.getTotalCost() < upperBound.get()) {
+            bestSchedule = s;
+            currentSchedule = s;
+            upperBound.set(s.getTotalCost());
+        }
+    }
+
+    /**
+     * A worker searches the states it owns in f-value order and forwards the children owned by other workers.
+     * Its open list, closed list and outgoing buffers are only touched by its own thread. The inbox is the only
+     * structure shared with other workers.
+     */
+    private class Worker implements Runnable {
+        private final int id;
+        private final BucketQueue open = new BucketQueue(BucketQueue.TieBreaking.DEEPEST_FIRST);
+        private final LongHashSet closed = new LongHashSet();
+        private final ConcurrentLinkedQueue<Schedule[]> inbox = new ConcurrentLinkedQueue<>();
+
+        private Schedule[][] outgoing;
+        private int[] outgoingCounts;
+
+        private long expanded;
+        private long received;
+
+        private Worker(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public void run() {
+            int nodeCount = context.getNodeCount();
+            Schedule.Expansion expansion = Schedule.Expansion.local();
+            outgoing = new Schedule[workers.length][];
+            outgoingCounts = new int[workers.length];
+
+            while (!finished) {
+                if (deadline.isExpired()) {
+                    stopped = true;
+                    finished = true;
+                    break;
+                }
+
+                drainInbox();
+
+                if (open.getMinKey() >= upperBound.get()) {
+                    // nothing left below the incumbent, hand out everything buffered and wait for more work
+                    flushAll();
+                    if (!awaitWork()) {
+                        return;
+                    }
+                    continue;
+                }
+
+                Schedule s = open.poll();
+                if (s.getScheduledNodeCount() == nodeCount) {
+                    updateBestSchedule(s);
+                    continue;
+                }
+
+                int processorLimit = s.getProcessorLimit();
+                for (int node = s.nextCandidateNode(0); node >= 0; node = s.nextCandidateNode(node + 1)) {
+                    for (int p = 1; p <= processorLimit; p++) {
+                        s.evaluate(node, p, expansion);
+
+                        // children which cannot beat the incumbent are dropped before they are created
+                        if (expansion.getHeuristicValue() >= upperBound.get()) {
+                            continue;
+                        }
+
+                        int destination = owner(expansion.getFingerprint());
+                        if (destination != id) {
+                            send(destination, s.materialise(expansion));
+                            continue;
+                        }
+
+                        // children this worker owns are only created if they are new, or audited
+                        Schedule child = audit != null ? s.materialise(expansion) : null;
+                        boolean collision = child != null && audit.isCollision(child);
+                        if (closed.add(expansion.getFingerprint()) || collision) {
+                            insert(child != null ? child : s.materialise(expansion));
+                        }
+                    }
+                }
+
+                // the expanded state is only kept as an ancestor of its children
+                s.release();
+
+                if (++expanded % FLUSH_INTERVAL == 0) {
+                    flushAll();
+                }
+            }
+
+            // out of time, the buffered states are handed over so the frontier can be bounded
+            flushAll();
+        }
+
+        /**
+         * Adds a state this worker owns to its open list, unless it is a duplicate or cannot improve on the incumbent.
+         */
+        private void receive(Schedule s) {
+            if (s.getHeuristicValue() >= upperBound.get()) {
+                return;
+            }
+
+            boolean collision = audit != null && audit.isCollision(s);
+            if (closed.add(s.getFingerprint()) || collision) {
+                insert(s);
+            }
+        }
+
+        private void insert(Schedule s) {
+            open.add(s);
+            schedulesSearched.increment();
+            currentSchedule = s;
+        }
+
+        private void drainInbox() {
+            Schedule[] batch;
+            while ((batch = inbox.poll()) != null) {
+                for (Schedule s : batch) {
+                    receive(s);
+                }
+                received += batch.length;
+                work.decrementAndGet();
+            }
+        }
+
+        private void send(int destination, Schedule s) {
+            if (outgoing[destination] == null) {
+                outgoing[destination] = new Schedule[BATCH_SIZE];
+            }
+
+            outgoing[destination][outgoingCounts[destination]++] = s;
+            if (outgoingCounts[destination] == BATCH_SIZE) {
+                flush(destination);
+            }
+        }
+
+        private void flush(int destination) {
+            int count = outgoingCounts[destination];
+            if (count == 0) {
+                return;
+            }
+
+            Schedule[] batch = outgoing[destination];
+            if (count < BATCH_SIZE) {
+                batch = Arrays.copyOf(batch, count);
+            } else {
+                outgoing[destination] = null;
+            }
+            outgoingCounts[destination] = 0;
+
+            // the batch is counted before it becomes visible, so the work counter cannot reach zero while it waits
+            work.incrementAndGet();
+            workers[destination].inbox.offer(batch);
+        }
+
+        private void flushAll() {
+            for (int i = 0; i < workers.length; i++) {
+                flush(i);
+            }
+        }
+
+        /**
+         * Parks the idle worker until a batch arrives or the search is over.
+         *
+         * @return true if the worker has work again, false if the search has terminated
+         */
+        private boolean awaitWork() {
+            if (work.decrementAndGet() == 0) {
+                finished = true;
+                return false;
+            }
+
+            while (!finished) {
+                if (!inbox.isEmpty()) {
+                    // a queued batch keeps the counter above zero, so it is safe to become active again
+                    work.incrementAndGet();
+                    return true;
+                }
+                if (work.get() == 0) {
+                    finished = true;
+                    return false;
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+            return false;
+        }
+    }
+
+    @Override
+    public SchedulerState getCurrentState() {
+        return this.state;
+    }
+
+    @Override
+    public ISchedule getCurrentSchedule() {
+        return this.currentSchedule;
+    }
+
+    @Override
+    public int getSchedulesSearched() {
+        return this.schedulesSearched.intValue();
+    }
+
+    @Override
+    public int getLowerBound() {
+        return this.lowerBound;
+    }
+
+    @Override
+    public int getUpperBound() {
+        return this.upperBound.get();
+    }
+}
@@ -0,0 +1,170 @@
+package task.scheduler.schedule.astar;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import task.scheduler.common.LongHashSet;
+import task.scheduler.schedule.*;
+import task.scheduler.schedule.ida.ParallelIterativeDeepeningAStar;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A* which degrades to IDA* instead of running out of memory. The search runs as AStar while it watches the heap
+ * occupancy. Once the occupancy reaches the memory threshold of the context, the open list stops growing: the closed
+ * list and the dominance index are released, and the open list is handed over as the frontier of a parallel IDA*,
+ * whose memory is bounded by its transposition table and the depth of the search. Every schedule which may beat the
+ * incumbent lies below some state of the open list, so the result is still optimal.
+ * The occupancy is measured on the tenured heap as the last collection left it, so garbage which is yet to be collected
+ * does not trigger the handover.
+ */
+public class MemoryBoundedAStar implements IScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(MemoryBoundedAStar.class);
+
+    // number of expansions between heap occupancy checks
+    private static final int MEMORY_CHECK_INTERVAL = 1024;
+
+    private volatile SchedulerState state = SchedulerState.NOT_STARTED;
+
+    // children, incumbent and bounds of the A* part of the search
+    private volatile Expander search;
+    // the IDA* the search was handed over to, if any
+    private volatile ParallelIterativeDeepeningAStar fallback;
+
+    public MemoryBoundedAStar() {
+    }
+
+    @Override
+    public ISchedule execute(SchedulingContext context) {
+        state = SchedulerState.RUNNING;
+        Deadline deadline = Deadline.start(context);
+
+        BucketQueue open = new BucketQueue(BucketQueue.TieBreaking.DEEPEST_FIRST);
+        FingerprintAudit audit = context.isVerifyFingerprints() ? new FingerprintAudit() : null;
+        Expander search = new Expander(open, new LongHashSet(), new DominanceIndex(), audit,
+                ListScheduler.schedule(context));
+        this.search = search;
+
+        open.add(new Schedule(context));
+
+        int nodeCount = context.getNodeCount();
+        long expansions = 0;
+        boolean stopped = false;
+
+        while (open.getMinKey() < search.getIncumbent().getTotalCost()) {
+            search.raiseLowerBound(open.getMinKey());
+            if (deadline.isExpired()) {
+                stopped = true;
+                break;
+            }
+
+            // at the threshold the open list becomes the frontier of IDA*
+            if (++expansions % MEMORY_CHECK_INTERVAL == 0 && getHeapOccupancy() >= context.getMemoryThreshold()) {
+                logger.info(String.format("MBASTAR heap occupancy %.2f at threshold %.2f, handing %d states to IDA*",
+                        getHeapOccupancy(), context.getMemoryThreshold(), open.size()));
+                // release the closed list and dominance index before the handover
+                search.releaseClosedList();
+                return handOver(context, deadline, open, search.getIncumbent());
+            }
+
+            Schedule s = open.poll();
+
+            if (s.getScheduledNodeCount() == nodeCount) {
+                search.improve(s); // optimal schedule found
+                break;
+            }
+
+            search.completeGreedily(s);
+            search.expand(s);
+        }
+
+        Schedule incumbent = search.finish(!stopped);
+        state = stopped ? SchedulerState.STOPPED : SchedulerState.FINISHED;
+        logger.info("MBASTAR searched " + getSchedulesSearched() + " states without running short of memory");
+        return incumbent;
+    }
+
+    /**
+     * Searches below the open list with IDA*, within the time left of the run.
+     */
+    private ISchedule handOver(SchedulingContext context, Deadline deadline, BucketQueue open, Schedule incumbent) {
+        List<Schedule> frontier = new ArrayList<>((int) open.size());
+        while (!open.isEmpty()) {
+            frontier.add(open.poll());
+        }
+
+        long remaining = deadline.getRemainingMillis();
+        if (remaining != Long.MAX_VALUE) {
+            context = context.withTimeBudget(Math.max(1, remaining));
+        }
+
+        this.fallback = new ParallelIterativeDeepeningAStar();
+        ISchedule result = fallback.execute(context, frontier, incumbent);
+        this.state = fallback.getCurrentState();
+        return result;
+    }
+
+    /**
+     * Returns the fraction of the tenured heap still in use after the last collection, which is 0 until the first
+     * collection. Without a tenured pool, the used fraction of the whole heap is returned, garbage included.
+     *
+     * @return the occupied fraction of the maximum heap size
+     */
+    private static double getHeapOccupancy() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            // of the heap pools only the tenured pool supports a usage threshold
+            if (pool.getType() != MemoryType.HEAP || !pool.isUsageThresholdSupported()) {
+                continue;
+            }
+            MemoryUsage usage = pool.getCollectionUsage();
+            if (usage != null && usage.getMax() > 0) {
+                return (double) usage.getUsed() / usage.getMax();
+            }
+        }
+
+        Runtime runtime = Runtime.getRuntime();
+        return (double) (runtime.totalMemory() - runtime.freeMemory()) / runtime.maxMemory();
+    }
+
+    @Override
+    public SchedulerState getCurrentState() {
+        return this.state;
+    }
+
+    @Override
+    public ISchedule getCurrentSchedule() {
+        ParallelIterativeDeepeningAStar fallback = this.fallback;
+        Expander search = this.search;
+        return fallback != null ? fallback.getCurrentSchedule() : search != null ? search.getCurrentSchedule() : null;
+    }
+
+    @Override
+    public int getSchedulesSearched() {
+        ParallelIterativeDeepeningAStar fallback = this.fallback;
+        Expander search = this.search;
+        return (search != null ? search.getSchedulesSearched() : 0)
+                + (fallback != null ? fallback.getSchedulesSearched() : 0);
+    }
+
+    @Override
+    public int getLowerBound() {
+        ParallelIterativeDeepeningAStar fallback = this.fallback;
+        Expander search = this.search;
+        int lowerBound = search != null ? search.getLowerBound() : 0;
+        return fallback != null ? Math.max(lowerBound, fallback.getLowerBound()) : lowerBound;
+    }
+
+    @Override
+    public int getUpperBound() {
+        ParallelIterativeDeepeningAStar fallback = this.fallback;
+        Expander search = this.search;
+        if (fallback != null) {
+            return fallback.getUpperBound();
+        }
+        return search != null ? search.getUpperBound() : Integer.MAX_VALUE;
+    }
+}
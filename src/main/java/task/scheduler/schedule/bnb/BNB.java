@@ -2,103 +2,186 @@ package task.scheduler.schedule.bnb;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import task.scheduler.common.Config;
-import task.scheduler.graph.IGraph;
-import task.scheduler.graph.INode;
+import task.scheduler.common.ConcurrentLongHashSet;
 import task.scheduler.schedule.*;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Depth first branch and bound on a ForkJoinPool. Each task searches a subtree with its own ArrayDeque as the DFS
+ * stack. Whenever the pool runs short of queued work, the task forks off the shallowest state on its stack, which
+ * roots the largest remaining subtree, so idle workers can steal it.
+ */
 public class BNB implements IScheduler {
     private static final Logger logger = LoggerFactory.getLogger(BNB.class);
-    private static SchedulerUtils schedulerUtils = new SchedulerUtils();
-    private static SchedulerState state = SchedulerState.NOT_STARTED;
+
+    // a subtree is only forked when fewer than this many surplus tasks are queued
+    private static final int SURPLUS_THRESHOLD = 2;
+
+    private SchedulerState state = SchedulerState.NOT_STARTED;
+    private SchedulingContext context;
 
     private AtomicInteger upperBound = new AtomicInteger(Integer.MAX_VALUE);
+    private volatile int lowerBound;
+    // minimum f-value of the states left unsearched when the time budget ran out
+    private AtomicInteger frontierBound = new AtomicInteger(Integer.MAX_VALUE);
+    private Deadline deadline;
+    private volatile boolean stopped;
     private AtomicReference<Schedule> bestSchedule = new AtomicReference<>();
-    private Set<String> seenSchedules = ConcurrentHashMap.newKeySet();
-    private AtomicInteger threadCount = new AtomicInteger(1);
-    private Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    private ConcurrentLongHashSet seenSchedules = new ConcurrentLongHashSet();
+    private DominanceIndex dominance = new DominanceIndex();
+    private FingerprintAudit audit;
+    private List<Worker> workers = Collections.synchronizedList(new ArrayList<>());
 
-    private ISchedule currentSchedule;
-    private int schedulesSearched;
+    private volatile ISchedule currentSchedule;
+    private LongAdder schedulesSearched = new LongAdder();
 
     public BNB() {
     }
 
     @Override
-    public ISchedule execute(IGraph graph) {
-        // populate global state
-        SchedulerCache.populateTotalNodeWeighting(graph);
-        SchedulerCache.populateSortedNodes(graph);
-        SchedulerCache.populateBottomLevelCache(graph);
+    public ISchedule execute(SchedulingContext context) {
+        this.context = context;
+        this.audit = context.isVerifyFingerprints() ? new FingerprintAudit() : null;
+        this.deadline = Deadline.start(context);
         state = SchedulerState.RUNNING;
 
-        // initialise BNB DFS variables
-        Stack<Schedule> stack = new Stack<>();
+        ForkJoinPool pool = new ForkJoinPool(context.getThreadCount(), forkJoinPool -> {
+            Worker worker = new Worker(forkJoinPool);
+            workers.add(worker);
+            return worker;
+        }, null, false);
+
+        // a greedy schedule bounds the search from the start, and is the result if nothing better exists
+        Schedule greedy = ListScheduler.schedule(context);
+        updateBestSchedule(greedy);
+        logger.info("BNB initial upper bound " + greedy.getTotalCost());
+
+        // dfs bnb algorithm, starting from the empty state
+        Schedule root = new Schedule(context);
+        this.lowerBound = Math.min(root.getHeuristicValue(), greedy.getTotalCost());
+        try {
+            pool.invoke(new Subtree(root, null));
+        } finally {
+            pool.shutdown();
+        }
 
-        // add empty state to the stack
-        stack.push(new Schedule(graph.getStartNodes(), schedulerUtils.getParentCountMap(graph)));
+        // every state below the upper bound was either searched or left on the frontier
+        this.lowerBound = Math.max(this.lowerBound, Math.min(upperBound.get(), frontierBound.get()));
+        if (stopped) {
+            logger.info(String.format("BNB ran out of time with cost %d, lower bound %d, gap %.3f",
+                    upperBound.get(), lowerBound, getOptimalityGap()));
+        }
+        logger.info("BNB searched " + this.schedulesSearched.sum() + " states, " + dominance.getDominatedCount()
+                + " dominated states discarded");
+        logWorkerStatistics(System.nanoTime());
+        state = stopped ? SchedulerState.STOPPED : SchedulerState.FINISHED;
+        return this.bestSchedule.get();
+    }
 
-        // dfs bnb algorithm
-        executeBNB(stack, graph);
+    /**
+     * Records a complete schedule if it is shorter than the best one found so far.
+     */
+    private synchronized void updateBestSchedule(Schedule s) {
+        if (s.getTotalCost() < this.upperBound.get()) {
+            this.bestSchedule.set(s);
+            this.upperBound.set(s.getTotalCost());
+            this.currentSchedule = s;
+        }
+    }
 
-        // wait for threads
-        for (Thread thread : threads) {
-            try {
-                thread.join();
-            } catch (InterruptedException e) {
-                e.printStackTrace();
+    private void logWorkerStatistics(long endTime) {
+        synchronized (workers) {
+            for (Worker worker : workers) {
+                long end = worker.endTime == 0 ? endTime : worker.endTime;
+                long idle = Math.max(0, end - worker.startTime - worker.busyTime);
+                logger.info(String.format("%s: %d tasks, %d stolen, %d ms idle", worker.getName(),
+                        worker.tasks, worker.steals, idle / 1_000_000));
             }
         }
-
-        // success
-        logger.info("BNB searched " + this.schedulesSearched + " states");
-        state = SchedulerState.FINISHED;
-        return this.bestSchedule.get();
     }
 
-    private void executeBNB(Stack<Schedule> stack, IGraph graph) {
-        while (!stack.empty()) {
-            Schedule s = stack.pop();
+    /**
+     * Task which searches the subtree below a state, forking parts of it off when other workers run out of work.
+     */
+    @SuppressWarnings("serial")
+    private class Subtree extends RecursiveAction {
+        private final Schedule root;
+        private final Thread owner;
+
+        private Subtree(Schedule root, Thread owner) {
+            this.root = root;
+            this.owner = owner;
+        }
+
+        @Override
+        protected void compute() {
+            Worker worker = (Worker) Thread.currentThread();
+            worker.tasks++;
+            if (owner != null && owner != worker) {
+                worker.steals++;
+            }
+            long start = System.nanoTime();
+
+            int nodeCount = context.getNodeCount();
+            boolean parallel = getPool().getParallelism() > 1;
+
+            List<Subtree> forked = new ArrayList<>();
+            Schedule.Expansion expansion = Schedule.Expansion.local();
+            Deque<Schedule> stack = new ArrayDeque<>();
+            stack.push(root);
+
+            while (!stack.isEmpty()) {
+                // out of time, the unsearched states bound the cost of every schedule not found
+                if (stopped || deadline.isExpired()) {
+                    stopped = true;
+                    for (Schedule s : stack) {
+                        frontierBound.accumulateAndGet(s.getHeuristicValue(), Math::min);
+                    }
+                    break;
+                }
 
-            // compare complete schedule
-            if (s.getScheduledNodeCount() == graph.getNodeCount()) {
-                if (s.getTotalCost() < this.upperBound.get()) {
-                    this.upperBound.set(s.getTotalCost());
-                    this.bestSchedule.set(s);
-                    this.currentSchedule = s;
+                // hand the shallowest state to an idle worker
+                if (parallel && stack.size() > 1 && getSurplusQueuedTaskCount() < SURPLUS_THRESHOLD) {
+                    Subtree subtree = new Subtree(stack.pollLast(), worker);
+                    subtree.fork();
+                    forked.add(subtree);
                 }
-            } else {
+
+                Schedule s = stack.pop();
+
+                // compare complete schedule
+                if (s.getScheduledNodeCount() == nodeCount) {
+                    if (s.getTotalCost() < upperBound.get()) {
+                        updateBestSchedule(s);
+                    }
+                    continue;
+                }
+
                 // expansion
-                for (INode node : s.getFree()) {
-                    for (int p = 1; p <= Config.getInstance().getNumberOfCores(); p++) {
-                        Schedule child = s.expand(node, p);
-
-                        // pruning
-                        if (child.getHeuristicValue() <= this.upperBound.get()) {
-
-                            // duplicate detection
-                            if (!seenSchedules.contains(child.getScheduleString())) {
-                                seenSchedules.add(child.getScheduleString());
-                                this.schedulesSearched++;
-
-                                // execute on new thread
-                                if (this.threadCount.getAndIncrement() < Config.getInstance().getNumberOfThreads()) {
-                                    Thread thread = new Thread(() -> {
-                                        Stack<Schedule> newStack = new Stack<>();
-                                        newStack.push(child);
-                                        executeBNB(newStack, graph);
-                                    });
-                                    threads.add(thread);
-                                    thread.start();
+                int processorLimit = s.getProcessorLimit();
+                for (int node = s.nextCandidateNode(0); node >= 0; node = s.nextCandidateNode(node + 1)) {
+                    for (int p = 1; p <= processorLimit; p++) {
+                        s.evaluate(node, p, expansion);
+
+                        // pruning, a child can only improve on the best schedule if its bound is strictly lower
+                        if (expansion.getHeuristicValue() < upperBound.get()) {
+
+                            // duplicate detection, only the children which are new are created unless audited
+                            Schedule child = audit != null ? s.materialise(expansion) : null;
+                            boolean collision = child != null && audit.isCollision(child);
+                            if (seenSchedules.add(expansion.getFingerprint()) || collision) {
+                                if (child == null) {
+                                    child = s.materialise(expansion);
                                 }
-                                // execute on current thread
-                                else {
-                                    this.threadCount.decrementAndGet();
+                                if (dominance.add(child)) {
+                                    schedulesSearched.increment();
                                     stack.push(child);
                                 }
                             }
@@ -106,6 +189,34 @@ public class BNB implements IScheduler {
                     }
                 }
             }
+            worker.busyTime += System.nanoTime() - start;
+
+            // wait for the forked subtrees, executing them here if nobody has stolen them
+            for (int i = forked.size() - 1; i >= 0; i--) {
+                forked.get(i).join();
+            }
+        }
+    }
+
+    /**
+     * Pool thread which counts the tasks it executes, the tasks it stole from other workers and its busy time.
+     * The counters are only written by the worker itself and read once the pool is quiescent.
+     */
+    private static class Worker extends ForkJoinWorkerThread {
+        private final long startTime = System.nanoTime();
+        private volatile long endTime;
+        private long tasks;
+        private long steals;
+        private long busyTime;
+
+        private Worker(ForkJoinPool pool) {
+            super(pool);
+        }
+
+        @Override
+        protected void onTermination(Throwable exception) {
+            endTime = System.nanoTime();
+            super.onTermination(exception);
         }
     }
 
@@ -118,11 +229,21 @@ public class BNB implements IScheduler {
     @Override
     public int getSchedulesSearched() {
         // gets the total amount of partial schedules processed
-        return this.schedulesSearched;
+        return this.schedulesSearched.intValue();
     }
 
     @Override
     public SchedulerState getCurrentState() {
         return state;
     }
+
+    @Override
+    public int getLowerBound() {
+        return lowerBound;
+    }
+
+    @Override
+    public int getUpperBound() {
+        return upperBound.get();
+    }
 }
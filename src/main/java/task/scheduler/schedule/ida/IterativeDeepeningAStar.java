@@ -2,9 +2,6 @@ package task.scheduler.schedule.ida;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import task.scheduler.common.Config;
-import task.scheduler.graph.IGraph;
-import task.scheduler.graph.INode;
 import task.scheduler.schedule.*;
 
 import java.util.HashMap;
@@ -15,11 +12,14 @@ import java.util.Stack;
 public class IterativeDeepeningAStar implements IScheduler {
     private static final Logger logger = LoggerFactory.getLogger(IterativeDeepeningAStar.class);
     private static final int FOUND = -2;
+    private static final int STOPPED = -3;
 
-    private IGraph graph;
+    private SchedulingContext context;
     private Schedule answer;
-    private static SchedulerState state = SchedulerState.NOT_STARTED;
-    private static SchedulerUtils schedulerUtils = new SchedulerUtils();
+    private Deadline deadline;
+    private volatile SchedulerState state = SchedulerState.NOT_STARTED;
+    private volatile int lowerBound;
+    private volatile int upperBound = Integer.MAX_VALUE;
 
     private ISchedule currentSchedule;
     private int schedulesSearched;
@@ -28,37 +28,52 @@ public class IterativeDeepeningAStar implements IScheduler {
     }
 
     @Override
-    public ISchedule execute(IGraph graph) {
-        SchedulerCache.populateSortedNodes(graph);
-        SchedulerCache.populateBottomLevelCache(graph);
-        SchedulerCache.populateSortedNodes(graph);
+    public ISchedule execute(SchedulingContext context) {
         state = SchedulerState.RUNNING;
 
-        this.graph = graph;
+        this.context = context;
+        this.deadline = Deadline.start(context);
 
+        // the greedy schedule is returned if the time budget runs out, or if nothing beats it
+        Schedule incumbent = ListScheduler.schedule(context);
+        this.upperBound = incumbent.getTotalCost();
+        this.currentSchedule = incumbent;
 
-        Schedule initialState = new Schedule(graph.getStartNodes(), schedulerUtils.getParentCountMap(graph));
+        Schedule initialState = new Schedule(context);
         int limit = initialState.getHeuristicValue();
         Stack<Schedule> stack = new Stack<>();
 
-        // the iterative deepening loop, repeatedly applies the astar algorithm up to the f-value limit
-        while(true) {
+        // the iterative deepening loop, repeatedly applies the astar algorithm up to the f-value limit, until the
+        // limit reaches the incumbent and nothing can beat it
+        while (limit < upperBound) {
+            // every iteration below the limit was exhausted without a goal
+            this.lowerBound = limit;
+            stack.clear();
             stack.push(initialState);
             int result = DepthLimitedSearchIterative(stack, limit);
 
-            if(result == FOUND){
-                logger.info(schedulesSearched + " states searched");
-                return answer;
+            if (result == FOUND) {
+                break;
             }
 
-            if(result == Integer.MAX_VALUE) {
-                logger.error("No complete solution was found.");
-                return null;
+            if (result == STOPPED) {
+                logger.info(String.format("IDASTAR ran out of time with cost %d, lower bound %d, gap %.3f",
+                        upperBound, lowerBound, getOptimalityGap()));
+                state = SchedulerState.STOPPED;
+                return incumbent;
             }
 
             // set new limit as the min f-value that exceeded the previous limit
             limit = result;
         }
+
+        Schedule best = answer != null ? answer : incumbent;
+        this.lowerBound = best.getTotalCost();
+        this.upperBound = this.lowerBound;
+        this.currentSchedule = best;
+        logger.info(schedulesSearched + " states searched");
+        state = SchedulerState.FINISHED;
+        return best;
     }
 
     /**
@@ -67,12 +82,16 @@ public class IterativeDeepeningAStar implements IScheduler {
      *
      * @param stack containing the Schedules being expanded
      * @param limit the max f-value to which to probe to
-     * @return the minimum f-value that exceeded the given limit
+     * @return the minimum f-value that exceeded the given limit, FOUND or STOPPED
      */
     private int DepthLimitedSearchIterative(Stack<Schedule> stack, int limit) {
         int min = Integer.MAX_VALUE;
 
         while(!stack.empty()) {
+            if (deadline.isExpired()) {
+                return STOPPED;
+            }
+
             Schedule currentState = stack.pop();
             int f = currentState.getHeuristicValue();
 
@@ -83,13 +102,13 @@ public class IterativeDeepeningAStar implements IScheduler {
             }
 
             // goal test
-            if (currentState.getScheduledNodeCount() == graph.getNodeCount()) {
+            if (currentState.getScheduledNodeCount() == context.getNodeCount()) {
                 answer = currentState;
                 return FOUND;
             }
 
-            for (INode node : currentState.getFree()) {
-                for (int i = 1; i <= Config.getInstance().getNumberOfCores(); i++) {
+            for (int node = currentState.nextCandidateNode(0); node >= 0; node = currentState.nextCandidateNode(node + 1)) {
+                for (int i = 1; i <= currentState.getProcessorLimit(); i++) {
                     Schedule child = currentState.expand(node, i);
                     stack.push(child);
                     this.schedulesSearched++;
@@ -105,11 +124,15 @@ public class IterativeDeepeningAStar implements IScheduler {
      * requires more memory.
      *
      * @param stack  containing the Schedules being expanded
-     * @param closed the schedule strings of the Schedules that have already been visited
+     * @param closed the fingerprints of the Schedules that have already been visited
      * @param limit  the max f-value to which to probe to
-     * @return the minimum f-value that exceeded the given limit
+     * @return the minimum f-value that exceeded the given limit, FOUND or STOPPED
      */
-    private int DepthLimitedSearchRecursive(Stack<Schedule> stack, Set<String> closed, int limit) {
+    private int DepthLimitedSearchRecursive(Stack<Schedule> stack, Set<Long> closed, int limit) {
+        if (deadline.isExpired()) {
+            return STOPPED;
+        }
+
         Schedule currentState = stack.peek();
         int f = currentState.getHeuristicValue();
 
@@ -119,24 +142,24 @@ public class IterativeDeepeningAStar implements IScheduler {
         }
 
         // goal test
-        if (currentState.getScheduledNodeCount() == graph.getNodeCount()) {
+        if (currentState.getScheduledNodeCount() == context.getNodeCount()) {
             return FOUND;
         }
 
         int min = Integer.MAX_VALUE;
 
-        for (INode node : currentState.getFree()) {
-            for (int i = 1; i <= Config.getInstance().getNumberOfCores(); i++) {
-                Schedule child = currentState.expand(node, i);
+        Schedule.Expansion expansion = Schedule.Expansion.local();
+        for (int node = currentState.nextCandidateNode(0); node >= 0; node = currentState.nextCandidateNode(node + 1)) {
+            for (int i = 1; i <= currentState.getProcessorLimit(); i++) {
+                currentState.evaluate(node, i, expansion);
 
-                // do not revisit duplicate states
-                if (!closed.contains(child.getScheduleString())) {
-                    closed.add(child.getScheduleString());
-                    stack.push(child);
+                // do not revisit duplicate states, which are never created
+                if (closed.add(expansion.getFingerprint())) {
+                    stack.push(currentState.materialise(expansion));
                     int t = DepthLimitedSearchRecursive(stack, closed, limit);
 
-                    if ( t == FOUND) {
-                        return FOUND;
+                    if (t == FOUND || t == STOPPED) {
+                        return t;
                     }
 
                     min = Math.min(t, min);
@@ -160,7 +183,17 @@ public class IterativeDeepeningAStar implements IScheduler {
 
     @Override
     public SchedulerState getCurrentState() {
-        return null;
+        return this.state;
+    }
+
+    @Override
+    public int getLowerBound() {
+        return this.lowerBound;
+    }
+
+    @Override
+    public int getUpperBound() {
+        return this.upperBound;
     }
 
 }
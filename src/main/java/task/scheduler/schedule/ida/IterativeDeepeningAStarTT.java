@@ -2,24 +2,26 @@ package task.scheduler.schedule.ida;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import task.scheduler.common.Config;
-import task.scheduler.graph.IGraph;
-import task.scheduler.graph.INode;
 import task.scheduler.schedule.*;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Stack;
 
 public class IterativeDeepeningAStarTT implements IScheduler {
     private static final Logger logger = LoggerFactory.getLogger(IterativeDeepeningAStarTT.class);
 
     private static final int FOUND = -2;
-    private IGraph graph;
+    private static final int STOPPED = -3;
+    private SchedulingContext context;
     private Schedule answer;
-    public static final Map<String, Integer> transpositionTable = new HashMap<>();
-    private static SchedulerUtils schedulerUtils = new SchedulerUtils();
+    private TranspositionTable transpositionTable;
+    private Deadline deadline;
 
+    private volatile SchedulerState state = SchedulerState.NOT_STARTED;
+    private volatile int lowerBound;
+    private volatile int upperBound = Integer.MAX_VALUE;
+
+
+    private FingerprintAudit audit;
 
     private ISchedule currentSchedule;
     private int schedulesSearched;
@@ -27,32 +29,51 @@ public class IterativeDeepeningAStarTT implements IScheduler {
     }
 
     @Override
-    public ISchedule execute(IGraph graph) {
-        SchedulerCache.populateTotalNodeWeighting(graph);
-        SchedulerCache.populateBottomLevelCache(graph);
-        SchedulerCache.populateSortedNodes(graph);
-        this.graph = graph;
-
-        Schedule initialState = new Schedule(graph.getStartNodes(), schedulerUtils.getParentCountMap(graph));
+    public ISchedule execute(SchedulingContext context) {
+        this.state = SchedulerState.RUNNING;
+        this.audit = context.isVerifyFingerprints() ? new FingerprintAudit() : null;
+        this.context = context;
+        this.transpositionTable = new TranspositionTable(context.getTranspositionTableMemory());
+        this.deadline = Deadline.start(context);
+
+        // the greedy schedule is returned if the time budget runs out, or if nothing beats it
+        Schedule incumbent = ListScheduler.schedule(context);
+        this.upperBound = incumbent.getTotalCost();
+        this.currentSchedule = incumbent;
+
+        Schedule initialState = new Schedule(context);
         int limit = initialState.getHeuristicValue();
-        Stack<Schedule> stack = new Stack<>();
 
-
-        while(true) {
-            stack.push(initialState);
+        // once the limit reaches the incumbent, no schedule beats it
+        while (limit < upperBound) {
+            // every iteration below the limit was exhausted without a goal
+            this.lowerBound = limit;
             int result = DepthLimitedSearchRecursive(initialState, limit);
 
-            if(result == FOUND){
-                logger.info(schedulesSearched + " states searched");
-                return answer;
+            if (result == FOUND) {
+                break;
             }
 
-            if(result == Integer.MAX_VALUE) {
-                return null;
+            if (result == STOPPED) {
+                logger.info(String.format("IDASTAR_TT ran out of time with cost %d, lower bound %d, gap %.3f",
+                        upperBound, lowerBound, getOptimalityGap()));
+                this.state = SchedulerState.STOPPED;
+                return incumbent;
             }
 
             limit = result;
         }
+
+        Schedule best = answer != null ? answer : incumbent;
+        this.lowerBound = best.getTotalCost();
+        this.upperBound = this.lowerBound;
+        this.currentSchedule = best;
+        logger.info(schedulesSearched + " states searched");
+        logger.info(String.format("transposition table of %d entries: %d hits, %d misses, %d evictions",
+                transpositionTable.capacity(), transpositionTable.getHits(), transpositionTable.getMisses(),
+                transpositionTable.getEvictions()));
+        this.state = SchedulerState.FINISHED;
+        return best;
     }
 
     /**
@@ -61,12 +82,16 @@ public class IterativeDeepeningAStarTT implements IScheduler {
      *
      * @param stack containing the Schedules being expanded
      * @param limit the max f-value to which to probe to
-     * @return the minimum f-value that exceeded the given limit
+     * @return the minimum f-value that exceeded the given limit, FOUND or STOPPED
      */
     private int DepthLimitedSearchIterative(Stack<Schedule> stack, int limit) {
         int min = Integer.MAX_VALUE;
 
         while(!stack.empty()) {
+            if (deadline.isExpired()) {
+                return STOPPED;
+            }
+
             Schedule currentState = stack.pop();
             int f = currentState.getHeuristicValue();
 
@@ -77,25 +102,28 @@ public class IterativeDeepeningAStarTT implements IScheduler {
             }
 
             // goal test
-            if (currentState.getScheduledNodeCount() == graph.getNodeCount()) {
+            if (currentState.getScheduledNodeCount() == context.getNodeCount()) {
                 answer = currentState;
                 return FOUND;
             }
 
-            for (INode node : currentState.getFree()) {
-                for (int i = 1; i <= Config.getInstance().getNumberOfCores(); i++) {
-                    Schedule child = currentState.expand(node, i);
+            Schedule.Expansion expansion = Schedule.Expansion.local();
+            for (int node = currentState.nextCandidateNode(0); node >= 0; node = currentState.nextCandidateNode(node + 1)) {
+                for (int i = 1; i <= currentState.getProcessorLimit(); i++) {
+                    currentState.evaluate(node, i, expansion);
+                    Schedule child = audit != null ? currentState.materialise(expansion) : null;
+                    int t = lookUp(child, expansion);
 
                     // check if this state has already been expanded beyond this limit
-                    if (lookUp(child) <= limit) {
-                        stack.push(child);
+                    if (t <= limit) {
+                        stack.push(child != null ? child : currentState.materialise(expansion));
                         this.schedulesSearched++;
                     } else {
-                        min = Math.min(lookUp(child), min);
+                        min = Math.min(t, min);
                     }
                 }
             }
-            transpositionTable.put(currentState.getScheduleString(), min);
+            store(currentState, min);
         }
         return min;
     }
@@ -107,59 +135,79 @@ public class IterativeDeepeningAStarTT implements IScheduler {
      *
      * @param currentState the schedule at which to begin tree expansion
      * @param limit        the max f-value to which to probe to
-     * @return the minimum f-value that exceeded the given limit
+     * @return the minimum f-value that exceeded the given limit, FOUND or STOPPED
      */
     private int DepthLimitedSearchRecursive(Schedule currentState, int limit) {
         this.schedulesSearched++;
-        if (currentState.getScheduledNodeCount() == graph.getNodeCount()) {
+        if (deadline.isExpired()) {
+            return STOPPED;
+        }
+        if (currentState.getScheduledNodeCount() == context.getNodeCount()) {
             answer = currentState;
             return FOUND;
         }
 
         int min = Integer.MAX_VALUE;
 
-        for (INode node : currentState.getFree()) {
-            for (int i = 1; i <= Config.getInstance().getNumberOfCores(); i++) {
-                Schedule childState = currentState.expand(node, i);
-                int t;
+        Schedule.Expansion expansion = Schedule.Expansion.local();
+        for (int node = currentState.nextCandidateNode(0); node >= 0; node = currentState.nextCandidateNode(node + 1)) {
+            for (int i = 1; i <= currentState.getProcessorLimit(); i++) {
+                currentState.evaluate(node, i, expansion);
+                Schedule child = audit != null ? currentState.materialise(expansion) : null;
+                int t = lookUp(child, expansion);
 
-                // check if this state has already been expanded beyond this limit
-                if (lookUp(childState) <= limit) {
-                    t = DepthLimitedSearchRecursive(childState, limit);
-                } else {
-                    t = lookUp(childState);
+                // check if this state has already been expanded beyond this limit, only then is it created
+                if (t <= limit) {
+                    t = DepthLimitedSearchRecursive(child != null ? child : currentState.materialise(expansion), limit);
                 }
 
-                if (t == FOUND) {
-                    return FOUND;
+                if (t == FOUND || t == STOPPED) {
+                    // a partially searched subtree proves nothing, so nothing is stored
+                    return t;
                 }
 
                 min = Math.min(t, min);
             }
         }
 
-        transpositionTable.put(currentState.getScheduleString(), min);
+        store(currentState, min);
         return min;
     }
 
     /**
-     * Looks for the corresponding value of the given Schedule in the transposition table.
+     * Looks for the corresponding value of the given child in the transposition table.
      * The value returned is the min f-value that was returned by by doing a depth-limited
-     * search on the given schedule. If no value is found, its f-value is stored in the
+     * search on the given child. If no value is found, its f-value is stored in the
      * transposition table.
      *
-     * @param childState to find in the transposition table
+     * @param child      the created child when fingerprints are audited, otherwise null
+     * @param childState evaluation of the child to find in the transposition table
      * @return the f-value found in the transposition table
      */
-    private int lookUp(Schedule childState) {
-        if (transpositionTable.containsKey(childState.getScheduleString())){
-            return transpositionTable.get(childState.getScheduleString());
+    private int lookUp(Schedule child, Schedule.Expansion childState) {
+        boolean collision = child != null && audit.isCollision(child);
+        int value = transpositionTable.get(childState.getFingerprint());
+
+        if (value >= 0 && !collision) {
+            return value;
         } else {
-            transpositionTable.put(childState.getScheduleString(), childState.getHeuristicValue());
+            store(childState.getFingerprint(), childState.getScheduledNodeCount(), childState.getHeuristicValue());
             return childState.getHeuristicValue();
         }
     }
 
+    private void store(Schedule state, int value) {
+        store(state.getFingerprint(), state.getScheduledNodeCount(), value);
+    }
+
+    /**
+     * Stores the f-value of a state, preferring states with more unscheduled nodes when the table is full.
+     */
+    private void store(long fingerprint, int scheduledNodeCount, int value) {
+        int depth = context.getNodeCount() - scheduledNodeCount;
+        transpositionTable.put(fingerprint, value, depth);
+    }
+
     @Override
     public ISchedule getCurrentSchedule() {
         return this.currentSchedule;
@@ -172,7 +220,17 @@ public class IterativeDeepeningAStarTT implements IScheduler {
 
     @Override
     public SchedulerState getCurrentState() {
-        return null;
+        return this.state;
+    }
+
+    @Override
+    public int getLowerBound() {
+        return this.lowerBound;
+    }
+
+    @Override
+    public int getUpperBound() {
+        return this.upperBound;
     }
 
 }
@@ -0,0 +1,363 @@
+package task.scheduler.schedule.ida;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import task.scheduler.schedule.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * IDA* on a ForkJoinPool. Each f-limit iteration splits the top levels of the search tree into subtrees, which the
+ * workers search depth first and steal from each other. All workers share one transposition table, so the bounds one
+ * worker proves prune the subtrees of the others. As the f-limit never exceeds the optimal cost, the first goal found
+ * within the limit is optimal, and every worker stops as soon as one is found.
+ * The only complete schedule IDA* knows before that is the greedy one, so it is returned if the time budget runs out,
+ * with the last exhausted f-limit as its lower bound.
+ */
+public class ParallelIterativeDeepeningAStar implements IScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(ParallelIterativeDeepeningAStar.class);
+
+    private static final int FOUND = -2;
+    private static final int STOPPED = -3;
+
+    // states with fewer scheduled nodes than this are split into one task per child
+    private static final int SPLIT_DEPTH = 3;
+
+    private SchedulerState state = SchedulerState.NOT_STARTED;
+    private SchedulingContext context;
+    private TranspositionTable transpositionTable;
+    private FingerprintAudit audit;
+    private int splitDepth;
+    private Deadline deadline;
+    private volatile int lowerBound;
+    private volatile int upperBound = Integer.MAX_VALUE;
+
+    private final AtomicReference<Schedule> answer = new AtomicReference<>();
+    private volatile ISchedule currentSchedule;
+    private final LongAdder schedulesSearched = new LongAdder();
+
+    public ParallelIterativeDeepeningAStar() {
+    }
+
+    @Override
+    public ISchedule execute(SchedulingContext context) {
+        return execute(context, Collections.singletonList(new Schedule(context)), ListScheduler.schedule(context));
+    }
+
+    /**
+     * Searches below a frontier of partial schedules, which together lead to every schedule that may beat the
+     * incumbent. This lets a memory-bounded search hand its open list over to IDA*.
+     *
+     * @param context   of the run
+     * @param frontier  partial schedules to search below
+     * @param incumbent best complete schedule found so far, returned if nothing below the frontier beats it
+     * @return an optimal schedule, or the incumbent if the time budget ran out
+     */
+    public ISchedule execute(SchedulingContext context, List<Schedule> frontier, Schedule incumbent) {
+        this.state = SchedulerState.RUNNING;
+        this.context = context;
+        this.audit = context.isVerifyFingerprints() ? new FingerprintAudit() : null;
+        this.transpositionTable = new TranspositionTable(context.getTranspositionTableMemory());
+        this.splitDepth = context.getThreadCount() > 1 ? SPLIT_DEPTH : 0;
+        this.deadline = Deadline.start(context);
+
+        this.upperBound = incumbent.getTotalCost();
+        this.currentSchedule = incumbent;
+
+        int limit = Integer.MAX_VALUE;
+        for (Schedule s : frontier) {
+            limit = Math.min(limit, s.getHeuristicValue());
+        }
+        ForkJoinPool pool = new ForkJoinPool(context.getThreadCount());
+
+        try {
+            // once the limit reaches the incumbent, nothing below the frontier can beat it
+            while (limit < upperBound) {
+                // every iteration below the limit was exhausted without a goal
+                this.lowerBound = limit;
+                int result = pool.invoke(new Frontier(frontier, limit));
+
+                if (result == FOUND) {
+                    break;
+                }
+                if (result == STOPPED) {
+                    if (answer.get() != null) {
+                        break;
+                    }
+                    logger.info(String.format("PIDASTAR ran out of time with cost %d, lower bound %d, gap %.3f",
+                            upperBound, lowerBound, getOptimalityGap()));
+                    this.state = SchedulerState.STOPPED;
+                    return incumbent;
+                }
+
+                logger.info("PIDASTAR f-limit " + limit + " exhausted, next limit " + result);
+                limit = result;
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        Schedule best = answer.get() != null ? answer.get() : incumbent;
+        this.lowerBound = best.getTotalCost();
+        this.upperBound = this.lowerBound;
+        this.currentSchedule = best;
+        logger.info("PIDASTAR searched " + schedulesSearched.sum() + " states");
+        logger.info(String.format("transposition table of %d entries: %d hits, %d misses, %d evictions",
+                transpositionTable.capacity(), transpositionTable.getHits(), transpositionTable.getMisses(),
+                transpositionTable.getEvictions()));
+        this.state = SchedulerState.FINISHED;
+        return best;
+    }
+
+    /**
+     * Task which searches below every state of the frontier within the f-limit, one subtree each.
+     */
+    @SuppressWarnings("serial")
+    private class Frontier extends RecursiveTask<Integer> {
+        private final List<Schedule> states;
+        private final int limit;
+
+        private Frontier(List<Schedule> states, int limit) {
+            this.states = states;
+            this.limit = limit;
+        }
+
+        @Override
+        protected Integer compute() {
+            int min = Integer.MAX_VALUE;
+            List<Subtree> subtrees = new ArrayList<>();
+            for (Schedule s : states) {
+                int value = lookUp(s);
+                if (value <= limit) {
+                    subtrees.add(new Subtree(s, limit));
+                } else {
+                    min = Math.min(min, value);
+                }
+            }
+
+            invokeAll(subtrees);
+            return joinAll(subtrees, min);
+        }
+    }
+
+    /**
+     * Task which searches the subtree below a state up to the f-limit, and returns the minimum f-value which
+     * exceeded the limit, FOUND if it found a goal, or STOPPED if another task found one first or the time budget
+     * ran out.
+     */
+    @SuppressWarnings("serial")
+    private class Subtree extends RecursiveTask<Integer> {
+        private final Schedule root;
+        private final int limit;
+
+        private Subtree(Schedule root, int limit) {
+            this.root = root;
+            this.limit = limit;
+        }
+
+        @Override
+        protected Integer compute() {
+            try {
+                return searchRoot();
+            } finally {
+                // the root is searched again in the next iteration, until then it takes constant memory
+                root.release();
+            }
+        }
+
+        private int searchRoot() {
+            if (root.getScheduledNodeCount() >= splitDepth) {
+                return search(root, limit);
+            }
+
+            schedulesSearched.increment();
+            if (isStopped()) {
+                return STOPPED;
+            }
+            if (isGoal(root)) {
+                return found(root);
+            }
+
+            int min = Integer.MAX_VALUE;
+            List<Subtree> subtrees = new ArrayList<>();
+            Schedule.Expansion expansion = Schedule.Expansion.local();
+            for (int node = root.nextCandidateNode(0); node >= 0; node = root.nextCandidateNode(node + 1)) {
+                for (int p = 1; p <= root.getProcessorLimit(); p++) {
+                    root.evaluate(node, p, expansion);
+                    Schedule child = audit != null ? root.materialise(expansion) : null;
+                    int value = lookUp(child, expansion);
+                    if (value <= limit) {
+                        subtrees.add(new Subtree(child != null ? child : root.materialise(expansion), limit));
+                    } else {
+                        min = Math.min(min, value);
+                    }
+                }
+            }
+
+            invokeAll(subtrees);
+
+            int result = joinAll(subtrees, min);
+            if (result != FOUND && result != STOPPED) {
+                store(root, result);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Combines the results of the subtrees below a state with the minimum f-value of its pruned children.
+     */
+    private static int joinAll(List<Subtree> subtrees, int min) {
+        boolean stopped = false;
+        for (Subtree subtree : subtrees) {
+            int t = subtree.join();
+            if (t == FOUND) {
+                return FOUND;
+            }
+            if (t == STOPPED) {
+                stopped = true;
+            } else {
+                min = Math.min(min, t);
+            }
+        }
+
+        return stopped ? STOPPED : min;
+    }
+
+    /**
+     * Depth first search of the subtree below a state up to the f-limit, on the calling thread.
+     *
+     * @param currentState the schedule at which to begin tree expansion
+     * @param limit        the max f-value to which to probe to
+     * @return the minimum f-value that exceeded the given limit, FOUND or STOPPED
+     */
+    private int search(Schedule currentState, int limit) {
+        schedulesSearched.increment();
+        if (isStopped()) {
+            return STOPPED;
+        }
+        if (isGoal(currentState)) {
+            return found(currentState);
+        }
+
+        int min = Integer.MAX_VALUE;
+
+        Schedule.Expansion expansion = Schedule.Expansion.local();
+        for (int node = currentState.nextCandidateNode(0); node >= 0; node = currentState.nextCandidateNode(node + 1)) {
+            for (int p = 1; p <= currentState.getProcessorLimit(); p++) {
+                currentState.evaluate(node, p, expansion);
+                Schedule child = audit != null ? currentState.materialise(expansion) : null;
+                int t = lookUp(child, expansion);
+
+                // only search below states which have not been proven to exceed this limit, and only create those
+                if (t <= limit) {
+                    t = search(child != null ? child : currentState.materialise(expansion), limit);
+                }
+
+                if (t == FOUND || t == STOPPED) {
+                    // a partially searched subtree proves nothing, so nothing is stored
+                    return t;
+                }
+
+                min = Math.min(t, min);
+            }
+        }
+
+        store(currentState, min);
+        return min;
+    }
+
+    /**
+     * @return true once a goal has been found or the time budget has run out
+     */
+    private boolean isStopped() {
+        return answer.get() != null || deadline.isExpired();
+    }
+
+    private boolean isGoal(Schedule s) {
+        return s.getScheduledNodeCount() == context.getNodeCount();
+    }
+
+    /**
+     * Records a goal, unless another task recorded one first.
+     */
+    private int found(Schedule s) {
+        if (answer.compareAndSet(null, s)) {
+            this.currentSchedule = s;
+            return FOUND;
+        }
+        return STOPPED;
+    }
+
+    /**
+     * Looks up the f-value proven for a state in the shared transposition table, storing its heuristic value if
+     * it is not present.
+     */
+    private int lookUp(Schedule childState) {
+        boolean collision = audit != null && audit.isCollision(childState);
+        int value = transpositionTable.get(childState.getFingerprint());
+
+        if (value >= 0 && !collision) {
+            return value;
+        } else {
+            store(childState, childState.getHeuristicValue());
+            return childState.getHeuristicValue();
+        }
+    }
+
+    /**
+     * Looks up the f-value proven for an evaluated child, as lookUp does for a schedule. The child is only created
+     * by the caller when fingerprints are audited, and is null otherwise.
+     */
+    private int lookUp(Schedule child, Schedule.Expansion expansion) {
+        boolean collision = child != null && audit.isCollision(child);
+        int value = transpositionTable.get(expansion.getFingerprint());
+
+        if (value >= 0 && !collision) {
+            return value;
+        } else {
+            store(expansion.getFingerprint(), expansion.getScheduledNodeCount(), expansion.getHeuristicValue());
+            return expansion.getHeuristicValue();
+        }
+    }
+
+    private void store(Schedule state, int value) {
+        store(state.getFingerprint(), state.getScheduledNodeCount(), value);
+    }
+
+    private void store(long fingerprint, int scheduledNodeCount, int value) {
+        int depth = context.getNodeCount() - scheduledNodeCount;
+        transpositionTable.put(fingerprint, value, depth);
+    }
+
+    @Override
+    public ISchedule getCurrentSchedule() {
+        return this.currentSchedule;
+    }
+
+    @Override
+    public int getSchedulesSearched() {
+        return this.schedulesSearched.intValue();
+    }
+
+    @Override
+    public SchedulerState getCurrentState() {
+        return this.state;
+    }
+
+    @Override
+    public int getLowerBound() {
+        return this.lowerBound;
+    }
+
+    @Override
+    public int getUpperBound() {
+        return this.upperBound;
+    }
+}
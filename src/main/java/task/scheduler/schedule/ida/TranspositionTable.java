@@ -0,0 +1,135 @@
+package task.scheduler.schedule.ida;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * TranspositionTable is a fixed size cache of the f-values IDA* has proven for states, keyed by fingerprint.
+ * Entries live in two primitive arrays sized from a memory budget, so the table never grows and never boxes.
+ * Each bucket has two slots. The first slot keeps the entry with the largest remaining depth, that is the most
+ * unscheduled nodes, as those entries save the most search. The second slot always takes the newest entry.
+ * Losing an entry is always safe, as IDA* falls back to the admissible heuristic.
+ * The table may be shared between threads without locking. Every slot stores the key XOR its data, so a slot
+ * which was torn by two concurrent writes no longer matches its key and reads as a miss.
+ */
+public class TranspositionTable {
+    // bytes per entry, a key word and a data word
+    private static final int ENTRY_BYTES = 16;
+
+    private final long[] keys;
+    private final long[] data;
+    private final int bucketMask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param memoryBytes memory budget of the table, rounded down to a power of two number of buckets
+     */
+    public TranspositionTable(long memoryBytes) {
+        long buckets = Math.max(1, memoryBytes / (2 * ENTRY_BYTES));
+        int bucketCount = (int) Math.min(Long.highestOneBit(buckets), 1 << 29);
+
+        this.keys = new long[bucketCount * 2];
+        this.data = new long[bucketCount * 2];
+        this.bucketMask = bucketCount - 1;
+    }
+
+    /**
+     * Looks up the f-value stored for a state.
+     *
+     * @param fingerprint of the state
+     * @return the stored f-value, or -1 if the state is not in the table
+     */
+    public int get(long fingerprint) {
+        int slot = slot(fingerprint);
+        for (int i = slot; i < slot + 2; i++) {
+            long d = data[i];
+            if (d != 0 && (keys[i] ^ d) == fingerprint) {
+                hits.increment();
+                return value(d);
+            }
+        }
+
+        misses.increment();
+        return -1;
+    }
+
+    /**
+     * Stores the f-value of a state, replacing the shallower entry of its bucket if the state is not present.
+     *
+     * @param fingerprint of the state
+     * @param value       f-value of the state, non-negative
+     * @param depth       number of unscheduled nodes of the state
+     */
+    public void put(long fingerprint, int value, int depth) {
+        int slot = slot(fingerprint);
+        long d = (long) value << 32 | (depth + 1);
+
+        // update in place if present
+        for (int i = slot; i < slot + 2; i++) {
+            long old = data[i];
+            if (old != 0 && (keys[i] ^ old) == fingerprint) {
+                write(i, fingerprint, d);
+                return;
+            }
+        }
+
+        long first = data[slot];
+        if (first == 0 || depth >= depth(first)) {
+            // the deeper entry moves to the first slot, the previous one to the second slot
+            if (first != 0) {
+                if (data[slot + 1] != 0) {
+                    evictions.increment();
+                }
+                keys[slot + 1] = keys[slot];
+                data[slot + 1] = first;
+            }
+            write(slot, fingerprint, d);
+        } else {
+            if (data[slot + 1] != 0) {
+                evictions.increment();
+            }
+            write(slot + 1, fingerprint, d);
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of entries which were overwritten by entries of other states
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return the number of entries the table can hold
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    private void write(int i, long fingerprint, long d) {
+        data[i] = d;
+        keys[i] = fingerprint ^ d;
+    }
+
+    private int slot(long fingerprint) {
+        return ((int) (fingerprint >>> 32) & bucketMask) << 1;
+    }
+
+    private static int value(long d) {
+        return (int) (d >>> 32);
+    }
+
+    private static int depth(long d) {
+        return (int) d - 1;
+    }
+}
@@ -5,6 +5,7 @@ import task.scheduler.graph.IGraph;
 import task.scheduler.graph.INode;
 import task.scheduler.schedule.ISchedule;
 import task.scheduler.schedule.IScheduler;
+import task.scheduler.schedule.SchedulingContext;
 
 import java.util.*;
 
@@ -21,8 +22,14 @@ public class ValidScheduler implements IScheduler {
     public ValidScheduler() {
     }
 
+    @Override
+    public ISchedule execute(SchedulingContext context) {
+        return execute(context.getGraph());
+    }
+
     /**
-     * Uses the BFS algorithm to identify all the nodes.
+     * Uses the BFS algorithm to identify all the nodes. The valid schedule does not depend on the number
+     * of processors, so no context is needed.
      *
      */
     @Override
@@ -39,6 +39,11 @@ public class VisualNode implements Comparable<VisualNode>, INode  {
         return node.getLabel();
     }
 
+    @Override
+    public int getId() {
+        return node.getId();
+    }
+
     public INode getNode() {
         return node;
     }
@@ -43,6 +43,9 @@ public class TestArgumentParser {
         config.setNumberOfCores(0);
         config.setNumberOfThreads(0);
         config.setVisualise(false);
+        config.setTimeBudget(0);
+        config.setSuboptimality(0);
+        config.setBucketDirectory(new File("."));
 
         // reset the appender between tests
         logger.removeAppender(appender);
@@ -76,6 +79,43 @@ public class TestArgumentParser {
         assertEquals(3, config.getNumberOfCores());
         assertEquals(8, config.getNumberOfThreads());
         assertTrue(config.isVisualise());
+        assertEquals(0, config.getTimeBudget());
+    }
+
+    @Test
+    public void testTimeBudgetArgument() {
+        // arrange
+        String[] args = {"src/test/resources/dot_files/test_file.dot", "2", "-t", "30"};
+
+        // act
+        Config config = parser.parse(args);
+
+        // assert
+        assertEquals(30000, config.getTimeBudget());
+    }
+
+    @Test
+    public void testSuboptimalityArgument() {
+        // arrange
+        String[] args = {"src/test/resources/dot_files/test_file.dot", "2", "-e", "0.05"};
+
+        // act
+        Config config = parser.parse(args);
+
+        // assert
+        assertEquals(0.05, config.getSuboptimality(), 0);
+    }
+
+    @Test
+    public void testBucketDirectoryArgument() {
+        // arrange
+        String[] args = {"src/test/resources/dot_files/test_file.dot", "2", "-d", "src/test/resources"};
+
+        // act
+        Config config = parser.parse(args);
+
+        // assert
+        assertEquals(new File("src/test/resources"), config.getBucketDirectory());
     }
 
     @Test
@@ -87,6 +127,9 @@ public class TestArgumentParser {
 
         String expectedString2 = "Optional: \r\n" +
                 "−p N use N cores for execution in parallel (default is sequential )\r\n" +
+                "−t T stop after T seconds with the best schedule found (default is no limit)\r\n" +
+                "−e E accept a schedule costing at most (1 + E) times the optimal cost (default is 0, optimal)\r\n" +
+                "−d DIR keep external memory search buckets in DIR on local disk (default is working directory)\r\n" +
                 "−v visualise the search\r\n" +
                 "−o OUTPUT.dot output file is named OUTPUT.dot (default is INPUT−output.dot)\r\n";
 
@@ -214,5 +257,85 @@ public class TestArgumentParser {
             assertEquals(expected, e.getMessage());
         }
     }
-}
 
+    @Test
+    public void testInvalidTimeArgument() {
+        // arrange
+        String[] args = {"src/test/resources/dot_files/test_file.dot", "3", "-t", "soon"};
+
+        // act
+        try {
+            parser.parse(args);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // assert
+            String expected = "argument -t must be followed by a non-negative integer.";
+            assertEquals(expected, e.getMessage());
+        }
+    }
+
+    @Test
+    public void testNegativeTimeArgument() {
+        // arrange
+        String[] args = {"src/test/resources/dot_files/test_file.dot", "3", "-t", "-5"};
+
+        // act
+        try {
+            parser.parse(args);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // assert
+            String expected = "argument -t must be followed by a non-negative integer.";
+            assertEquals(expected, e.getMessage());
+        }
+    }
+
+    @Test
+    public void testOverflowingTimeArgument() {
+        // arrange, the budget in milliseconds does not fit in a long
+        String[] args = {"src/test/resources/dot_files/test_file.dot", "3", "-t", String.valueOf(Long.MAX_VALUE / 100)};
+
+        // act
+        try {
+            parser.parse(args);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // assert
+            String expected = "argument -t must be followed by a non-negative integer.";
+            assertEquals(expected, e.getMessage());
+        }
+    }
+
+    @Test
+    public void testNegativeSuboptimalityArgument() {
+        // arrange
+        String[] args = {"src/test/resources/dot_files/test_file.dot", "3", "-e", "-0.1"};
+
+        // act
+        try {
+            parser.parse(args);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // assert
+            String expected = "argument -e must be followed by a non-negative number.";
+            assertEquals(expected, e.getMessage());
+        }
+    }
+
+    @Test
+    public void testMissingBucketDirectoryArgument() {
+        // arrange
+        String[] args = {"src/test/resources/dot_files/test_file.dot", "3", "-d", "src/test/resources/no_such_directory"};
+
+        // act
+        try {
+            parser.parse(args);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // assert
+            String expected = "directory " + new File("src/test/resources/no_such_directory").getAbsolutePath()
+                    + " not found.";
+            assertEquals(expected, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package task.scheduler;
+
+import org.junit.Before;
+import org.junit.Test;
+import task.scheduler.graph.Graph;
+import task.scheduler.graph.IGraph;
+import task.scheduler.schedule.Schedule;
+import task.scheduler.schedule.SchedulingContext;
+import task.scheduler.schedule.astar.BucketQueue;
+
+import java.io.File;
+
+import static org.junit.Assert.*;
+
+public class TestBucketQueue {
+    private static final String DOT_FILE = "src/test/resources/dot_files/valid_no_comments.dot";
+
+    private Schedule root;
+    private Schedule a;
+    private Schedule ab;
+
+    @Before
+    public void setUp() throws Exception {
+        IGraph graph = new Graph(new File(DOT_FILE));
+        this.root = new Schedule(new SchedulingContext(graph, 2, 1));
+
+        // nodes are numbered in file order: a = 0, b = 1, c = 2, d = 3
+        this.a = root.expand(0, 1);
+        this.ab = a.expand(1, 1);
+    }
+
+    @Test
+    public void testPollsMinimumFValue() {
+        // arrange
+        BucketQueue queue = new BucketQueue(BucketQueue.TieBreaking.LIFO);
+
+        // act
+        queue.add(a);
+        queue.add(root);
+
+        // assert
+        assertTrue(root.getHeuristicValue() < a.getHeuristicValue());
+        assertEquals(root.getHeuristicValue(), queue.getMinKey());
+        assertEquals(2, queue.size());
+        assertSame(root, queue.poll());
+        assertSame(a, queue.poll());
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+        assertEquals(Integer.MAX_VALUE, queue.getMinKey());
+    }
+
+    @Test
+    public void testLifoTieBreaking() {
+        // arrange
+        BucketQueue queue = new BucketQueue(BucketQueue.TieBreaking.LIFO);
+
+        // act
+        queue.add(ab);
+        queue.add(a);
+
+        // assert
+        assertEquals(a.getHeuristicValue(), ab.getHeuristicValue());
+        assertSame(a, queue.poll());
+        assertSame(ab, queue.poll());
+    }
+
+    @Test
+    public void testDeepestFirstTieBreaking() {
+        // arrange
+        BucketQueue queue = new BucketQueue(BucketQueue.TieBreaking.DEEPEST_FIRST);
+
+        // act
+        queue.add(ab);
+        queue.add(a);
+
+        // assert
+        assertSame(ab, queue.poll());
+        assertSame(a, queue.poll());
+    }
+
+    @Test
+    public void testPrune() {
+        // arrange
+        BucketQueue queue = new BucketQueue(BucketQueue.TieBreaking.LIFO);
+        queue.add(root);
+        queue.add(a);
+        queue.add(ab);
+
+        // act
+        long removed = queue.prune(a.getHeuristicValue());
+
+        // assert
+        assertEquals(2, removed);
+        assertEquals(1, queue.size());
+        assertSame(root, queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testPollFocal() {
+        // arrange
+        BucketQueue queue = new BucketQueue(BucketQueue.TieBreaking.DEEPEST_FIRST);
+        queue.add(root);
+        queue.add(ab);
+        queue.add(a);
+
+        // act, the deepest schedule within the focal bound is removed first
+        Schedule first = queue.pollFocal(ab.getHeuristicValue());
+        Schedule second = queue.pollFocal(root.getHeuristicValue());
+        Schedule third = queue.pollFocal(root.getHeuristicValue());
+
+        // assert
+        assertSame(ab, first);
+        assertSame(root, second);
+        assertNull(third);
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void testGrowsPastChunkSize() {
+        // arrange
+        BucketQueue queue = new BucketQueue(BucketQueue.TieBreaking.LIFO);
+        int count = 5000;
+
+        // act
+        for (int i = 0; i < count; i++) {
+            queue.add(i % 2 == 0 ? a : root);
+        }
+
+        // assert
+        for (int i = 0; i < count; i++) {
+            assertSame(i < count / 2 ? root : a, queue.poll());
+        }
+        assertTrue(queue.isEmpty());
+    }
+}
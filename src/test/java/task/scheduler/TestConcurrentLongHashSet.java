@@ -0,0 +1,63 @@
+package task.scheduler;
+
+import org.junit.Test;
+import task.scheduler.common.ConcurrentLongHashSet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class TestConcurrentLongHashSet {
+
+    @Test
+    public void testAddAndContains() {
+        // arrange
+        ConcurrentLongHashSet set = new ConcurrentLongHashSet();
+
+        // act
+        boolean first = set.add(42L);
+        boolean second = set.add(42L);
+        boolean zero = set.add(0L);
+
+        // assert
+        assertTrue(first);
+        assertFalse(second);
+        assertTrue(zero);
+        assertTrue(set.contains(42L));
+        assertTrue(set.contains(0L));
+        assertFalse(set.contains(43L));
+        assertEquals(2, set.size());
+    }
+
+    @Test
+    public void testConcurrentAdds() throws Exception {
+        // arrange, every thread adds the same keys so each key must be added exactly once
+        ConcurrentLongHashSet set = new ConcurrentLongHashSet();
+        AtomicInteger added = new AtomicInteger();
+        int count = 20000;
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(new Thread(() -> {
+                for (long key = 1; key <= count; key++) {
+                    if (set.add(key * 0x9E3779B97F4A7C15L)) {
+                        added.incrementAndGet();
+                    }
+                }
+            }));
+        }
+
+        // act
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // assert
+        assertEquals(count, added.get());
+        assertEquals(count, set.size());
+    }
+}
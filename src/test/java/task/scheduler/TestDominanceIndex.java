@@ -0,0 +1,61 @@
+package task.scheduler;
+
+import org.junit.Before;
+import org.junit.Test;
+import task.scheduler.graph.Graph;
+import task.scheduler.graph.IGraph;
+import task.scheduler.schedule.DominanceIndex;
+import task.scheduler.schedule.Schedule;
+import task.scheduler.schedule.SchedulingContext;
+
+import java.io.File;
+
+import static org.junit.Assert.*;
+
+public class TestDominanceIndex {
+    private static final String DOT_FILE = "src/test/resources/dot_files/Nodes_21_floating.dot";
+
+    private Schedule root;
+    private DominanceIndex index;
+
+    @Before
+    public void setUp() throws Exception {
+        IGraph graph = new Graph(new File(DOT_FILE));
+        this.root = new Schedule(new SchedulingContext(graph, 2, 1));
+        this.index = new DominanceIndex();
+    }
+
+    @Test
+    public void testReorderingIsDominated() {
+        // arrange, nodes 15 and 16 have no edges, so their order on a processor only changes their start times
+        Schedule first = root.expand(15, 1).expand(16, 1);
+        Schedule second = root.expand(16, 1).expand(15, 1);
+
+        // act
+        boolean firstAdded = index.add(first);
+        boolean secondAdded = index.add(second);
+
+        // assert
+        assertNotEquals(first.getFingerprint(), second.getFingerprint());
+        assertTrue(firstAdded);
+        assertFalse(secondAdded);
+        assertEquals(1, index.getDominatedCount());
+    }
+
+    @Test
+    public void testIncomparableSchedulesAreKept() {
+        // arrange, one processor finishes later in each schedule
+        Schedule sameProcessor = root.expand(15, 1).expand(16, 1);
+        Schedule otherProcessor = root.expand(15, 1).expand(16, 2);
+
+        // act
+        boolean sameAdded = index.add(sameProcessor);
+        boolean otherAdded = index.add(otherProcessor);
+
+        // assert
+        assertTrue(sameAdded);
+        assertTrue(otherAdded);
+        assertEquals(0, index.getDominatedCount());
+        assertEquals(1, index.size());
+    }
+}
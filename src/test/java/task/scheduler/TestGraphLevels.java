@@ -0,0 +1,51 @@
+package task.scheduler;
+
+import org.junit.Test;
+import task.scheduler.graph.Graph;
+import task.scheduler.graph.IGraph;
+import task.scheduler.schedule.GraphLevels;
+
+import java.io.File;
+
+import static org.junit.Assert.*;
+
+public class TestGraphLevels {
+    private String dotFiles = "src/test/resources/dot_files/";
+
+    @Test
+    public void testLevels() throws Exception {
+        // arrange, a(2) -> b(3) -> d(2) and a(2) -> c(3) -> d(2)
+        IGraph graph = new Graph(new File(dotFiles + "valid_no_comments.dot"));
+
+        // act
+        GraphLevels levels = new GraphLevels(graph.getAdjacency());
+
+        // assert
+        assertEquals(7, levels.criticalPathLength);
+        assertArrayEquals(new int[]{7, 5, 5, 2}, levels.bottomLevels);
+        assertArrayEquals(new int[]{20, 7, 6, 2}, levels.communicationBottomLevels);
+        assertArrayEquals(new int[]{0, 2, 2, 5}, levels.topLevels);
+        assertArrayEquals(new int[]{0, 2, 2, 5}, levels.alapTimes);
+    }
+
+    @Test
+    public void testTopologicalOrder() throws Exception {
+        // arrange
+        IGraph graph = new Graph(new File(dotFiles + "Nodes_10_Random.dot"));
+
+        // act
+        GraphLevels levels = new GraphLevels(graph.getAdjacency());
+
+        // assert every parent is ordered before its children
+        int[] position = new int[graph.getNodeCount()];
+        for (int i = 0; i < levels.topologicalOrder.length; i++) {
+            position[levels.topologicalOrder[i]] = i;
+        }
+        for (int node = 0; node < graph.getNodeCount(); node++) {
+            for (int i = graph.getAdjacency().childOffsets[node]; i < graph.getAdjacency().childOffsets[node + 1]; i++) {
+                assertTrue(position[node] < position[graph.getAdjacency().children[i]]);
+            }
+            assertTrue(levels.alapTimes[node] >= levels.topLevels[node]);
+        }
+    }
+}
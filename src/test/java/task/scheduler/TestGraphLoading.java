@@ -2,6 +2,7 @@ package task.scheduler;
 
 import org.junit.Test;
 import task.scheduler.exception.DotFormatException;
+import task.scheduler.graph.Adjacency;
 import task.scheduler.graph.Graph;
 import task.scheduler.graph.IGraph;
 import task.scheduler.graph.INode;
@@ -112,4 +113,61 @@ public class TestGraphLoading {
             }
         }
     }
+
+    /**
+     * Tests nodes are given dense ids and the compressed adjacency matches the edge maps
+     */
+    @Test
+    public void testAdjacency() throws Exception {
+        // arrange
+        String file = "valid_no_comments.dot";
+
+        // act
+        IGraph g = new Graph(new File(dotFiles + file));
+        Adjacency adjacency = g.getAdjacency();
+
+        // assert
+        assertEquals(4, adjacency.getNodeCount());
+        for (int id = 0; id < g.getNodeCount(); id++) {
+            INode node = g.getNode(id);
+            assertEquals(id, node.getId());
+            assertEquals(node.getProcessingCost(), adjacency.processingCosts[id]);
+
+            assertEquals(node.getChildren().size(), adjacency.childOffsets[id + 1] - adjacency.childOffsets[id]);
+            for (int i = adjacency.childOffsets[id]; i < adjacency.childOffsets[id + 1]; i++) {
+                INode child = g.getNode(adjacency.children[i]);
+                assertEquals(node.getChildren().get(child), Integer.valueOf(adjacency.childWeights[i]));
+            }
+
+            assertEquals(node.getParents().size(), adjacency.parentOffsets[id + 1] - adjacency.parentOffsets[id]);
+            for (int i = adjacency.parentOffsets[id]; i < adjacency.parentOffsets[id + 1]; i++) {
+                INode parent = g.getNode(adjacency.parents[i]);
+                assertEquals(node.getParents().get(parent), Integer.valueOf(adjacency.parentWeights[i]));
+            }
+        }
+    }
+
+    @Test
+    public void testEquivalentNodes() throws Exception {
+        // arrange, the floating nodes of this graph have equal weights and no edges
+        String file = "Nodes_21_floating.dot";
+
+        // act
+        IGraph g = new Graph(new File(dotFiles + file));
+        Adjacency adjacency = g.getAdjacency();
+
+        // assert
+        int equivalentNodes = 0;
+        for (int id = 0; id < g.getNodeCount(); id++) {
+            int predecessor = adjacency.equivalentPredecessors[id];
+            if (predecessor >= 0) {
+                equivalentNodes++;
+                assertTrue(predecessor < id);
+                assertEquals(adjacency.processingCosts[predecessor], adjacency.processingCosts[id]);
+                assertEquals(0, adjacency.childOffsets[id + 1] - adjacency.childOffsets[id]);
+                assertEquals(0, adjacency.parentOffsets[id + 1] - adjacency.parentOffsets[id]);
+            }
+        }
+        assertEquals(3, equivalentNodes);
+    }
 }
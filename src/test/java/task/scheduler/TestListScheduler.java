@@ -0,0 +1,56 @@
+package task.scheduler;
+
+import org.junit.Test;
+import task.scheduler.graph.Graph;
+import task.scheduler.graph.IGraph;
+import task.scheduler.schedule.ListScheduler;
+import task.scheduler.schedule.Schedule;
+import task.scheduler.schedule.SchedulingContext;
+
+import java.io.File;
+
+import static org.junit.Assert.*;
+
+public class TestListScheduler {
+    private static final String DOT_FILES = "src/test/resources/dot_files/";
+
+    private SchedulingContext context(String file, int processors) throws Exception {
+        IGraph graph = new Graph(new File(DOT_FILES + file));
+        return new SchedulingContext(graph, processors, 1);
+    }
+
+    @Test
+    public void testCompleteSchedule() throws Exception {
+        // act
+        Schedule schedule = ListScheduler.schedule(context("valid_no_comments.dot", 2));
+
+        // assert
+        assertEquals(4, schedule.getScheduledNodeCount());
+        assertEquals(9, schedule.getTotalCost());
+    }
+
+    @Test
+    public void testUpperBound() throws Exception {
+        // act
+        Schedule outTree = ListScheduler.schedule(context("Nodes_11_OutTree.dot", 4));
+        Schedule random = ListScheduler.schedule(context("Nodes_10_Random.dot", 2));
+
+        // assert, never better than the optimal schedule and never worse than running sequentially
+        assertTrue(outTree.getTotalCost() >= 227);
+        assertTrue(random.getTotalCost() >= 50);
+        assertTrue(random.getTotalCost() <= 63);
+    }
+
+    @Test
+    public void testCompletePartialSchedule() throws Exception {
+        // arrange, nodes are numbered in file order: a = 0, b = 1, c = 2, d = 3
+        Schedule partial = new Schedule(context("valid_no_comments.dot", 2)).expand(0, 2);
+
+        // act
+        Schedule schedule = ListScheduler.complete(partial);
+
+        // assert
+        assertEquals(4, schedule.getScheduledNodeCount());
+        assertEquals(Integer.valueOf(2), schedule.getNodeSchedule(schedule.getContext().getGraph().getNode(0)).y);
+    }
+}
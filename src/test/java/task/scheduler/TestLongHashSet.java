@@ -0,0 +1,77 @@
+package task.scheduler;
+
+import org.junit.Test;
+import task.scheduler.common.LongHashSet;
+
+import static org.junit.Assert.*;
+
+public class TestLongHashSet {
+
+    @Test
+    public void testAddAndContains() {
+        // arrange
+        LongHashSet set = new LongHashSet();
+
+        // act
+        boolean first = set.add(42L);
+        boolean second = set.add(42L);
+
+        // assert
+        assertTrue(first);
+        assertFalse(second);
+        assertTrue(set.contains(42L));
+        assertFalse(set.contains(43L));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    public void testZeroKey() {
+        // arrange
+        LongHashSet set = new LongHashSet();
+
+        // act
+        boolean first = set.add(0L);
+        boolean second = set.add(0L);
+
+        // assert
+        assertTrue(first);
+        assertFalse(second);
+        assertTrue(set.contains(0L));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    public void testResize() {
+        // arrange
+        LongHashSet set = new LongHashSet(16, 0.5f);
+        int count = 100000;
+
+        // act
+        for (long i = 1; i <= count; i++) {
+            set.add(i * 31L);
+        }
+
+        // assert
+        assertEquals(count, set.size());
+        for (long i = 1; i <= count; i++) {
+            assertTrue(set.contains(i * 31L));
+        }
+        assertFalse(set.contains(count * 31L + 1));
+        assertTrue(set.getOccupancy() <= 0.5);
+        assertTrue(set.capacity() >= 2 * count);
+        assertTrue(set.getAverageProbeLength() >= 1);
+        assertTrue(set.getMaxProbeLength() >= 1);
+    }
+
+    @Test
+    public void testInvalidLoadFactor() {
+        // act
+        try {
+            new LongHashSet(16, 1.0f);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // assert
+            assertEquals("load factor must be between 0 and 1", e.getMessage());
+        }
+    }
+}
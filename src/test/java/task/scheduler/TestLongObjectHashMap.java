@@ -0,0 +1,62 @@
+package task.scheduler;
+
+import org.junit.Test;
+import task.scheduler.common.LongObjectHashMap;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TestLongObjectHashMap {
+
+    @Test
+    public void testPutGetRemove() {
+        // arrange
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+
+        // act
+        String first = map.put(42L, "a");
+        String second = map.put(42L, "b");
+        map.put(0L, "zero");
+
+        // assert
+        assertNull(first);
+        assertEquals("a", second);
+        assertEquals("b", map.get(42L));
+        assertEquals("zero", map.get(0L));
+        assertNull(map.get(43L));
+        assertEquals(2, map.size());
+        assertEquals("b", map.remove(42L));
+        assertEquals("zero", map.remove(0L));
+        assertNull(map.remove(42L));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testRemoveKeepsProbeRuns() {
+        // arrange
+        LongObjectHashMap<Long> map = new LongObjectHashMap<>();
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(7);
+
+        // act, enough keys to resize several times, removing about a third of them again
+        for (int i = 0; i < 20000; i++) {
+            long key = random.nextLong();
+            map.put(key, key);
+            expected.put(key, key);
+            if (i % 3 == 0) {
+                long removed = expected.keySet().iterator().next();
+                assertEquals(Long.valueOf(removed), map.remove(removed));
+                expected.remove(removed);
+            }
+        }
+
+        // assert
+        assertEquals(expected.size(), map.size());
+        for (long key : expected.keySet()) {
+            assertEquals(Long.valueOf(key), map.get(key));
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package task.scheduler;
+
+import org.junit.Test;
+import task.scheduler.graph.Graph;
+import task.scheduler.graph.IGraph;
+import task.scheduler.schedule.ISchedule;
+import task.scheduler.schedule.IScheduler;
+import task.scheduler.schedule.ListScheduler;
+import task.scheduler.schedule.Schedule;
+import task.scheduler.schedule.SchedulerFactory;
+import task.scheduler.schedule.SchedulerFactory.SchedulerType;
+import task.scheduler.schedule.SchedulingContext;
+import task.scheduler.schedule.ida.ParallelIterativeDeepeningAStar;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class TestOptimalSchedulers {
+    private static final String DOT_FILES = "src/test/resources/dot_files/";
+
+    private SchedulerFactory factory = new SchedulerFactory();
+
+    /**
+     * Schedules the given dot file and returns the cost of the produced schedule
+     */
+    private int schedule(SchedulerType type, String file, int processors, int threads) throws Exception {
+        IGraph graph = new Graph(new File(DOT_FILES + file));
+        ISchedule schedule = factory.createScheduler(type).execute(new SchedulingContext(graph, processors, threads));
+        return schedule.getTotalCost();
+    }
+
+    private void assertOptimal(SchedulerType type, int threads) throws Exception {
+        assertEquals(8, schedule(type, "test_file.dot", 2, threads));
+        assertEquals(50, schedule(type, "Nodes_10_Random.dot", 2, threads));
+        assertEquals(50, schedule(type, "Nodes_10_Random.dot", 4, threads));
+        assertEquals(227, schedule(type, "Nodes_11_OutTree.dot", 4, threads));
+    }
+
+    @Test
+    public void testAStar() throws Exception {
+        assertOptimal(SchedulerType.ASTAR, 1);
+    }
+
+    @Test
+    public void testFocalAStar() throws Exception {
+        // without suboptimality focal search is A*
+        assertOptimal(SchedulerType.FOCAL, 1);
+
+        for (double suboptimality : new double[]{0.05, 0.2}) {
+            // arrange
+            IGraph graph = new Graph(new File(DOT_FILES + "Nodes_21_floating.dot"));
+            SchedulingContext context = new SchedulingContext(graph, 2, 1).withSuboptimality(suboptimality);
+            IScheduler scheduler = factory.createScheduler(SchedulerType.FOCAL);
+
+            // act
+            ISchedule schedule = scheduler.execute(context);
+
+            // assert, the optimal cost is 71
+            assertTrue(schedule.getTotalCost() <= (1 + suboptimality) * 71);
+            assertTrue(scheduler.getLowerBound() <= 71);
+            assertTrue(schedule.getTotalCost() <= (1 + suboptimality) * scheduler.getLowerBound());
+        }
+    }
+
+    @Test
+    public void testFrontierAStar() throws Exception {
+        assertOptimal(SchedulerType.FRONTIER, 1);
+        assertEquals(350, schedule(SchedulerType.FRONTIER, "Nodes_11_OutTree.dot", 2, 1));
+        assertEquals(71, schedule(SchedulerType.FRONTIER, "Nodes_21_floating.dot", 2, 1));
+    }
+
+    @Test
+    public void testMemoryBoundedAStar() throws Exception {
+        assertOptimal(SchedulerType.MBASTAR, 1);
+
+        // arrange, a threshold of 0 hands the search over to IDA* after the first expansions
+        IGraph graph = new Graph(new File(DOT_FILES + "Nodes_11_OutTree.dot"));
+        SchedulingContext context = new SchedulingContext(graph, 2, 2).withMemoryThreshold(0);
+        IScheduler scheduler = factory.createScheduler(SchedulerType.MBASTAR);
+
+        // act
+        ISchedule schedule = scheduler.execute(context);
+
+        // assert
+        assertEquals(350, schedule.getTotalCost());
+        assertEquals(350, scheduler.getLowerBound());
+        assertEquals(IScheduler.SchedulerState.FINISHED, scheduler.getCurrentState());
+    }
+
+    @Test
+    public void testHandOverReleasesFrontier() throws Exception {
+        // arrange, an open list of every state two levels below the root, whose parents are released as in A*
+        IGraph graph = new Graph(new File(DOT_FILES + "Nodes_11_OutTree.dot"));
+        SchedulingContext context = new SchedulingContext(graph, 2, 2);
+        List<Schedule> frontier = new ArrayList<>();
+        for (Schedule child : children(new Schedule(context))) {
+            frontier.addAll(children(child));
+            child.release();
+        }
+
+        // act
+        ISchedule schedule = new ParallelIterativeDeepeningAStar().execute(context, frontier,
+                ListScheduler.schedule(context));
+
+        // assert
+        assertEquals(350, schedule.getTotalCost());
+        assertTrue(frontier.size() > 1);
+        for (Schedule s : frontier) {
+            assertTrue(s.isReleased());
+        }
+    }
+
+    private static List<Schedule> children(Schedule s) {
+        List<Schedule> children = new ArrayList<>();
+        for (int node = s.nextCandidateNode(0); node >= 0; node = s.nextCandidateNode(node + 1)) {
+            for (int p = 1; p <= s.getProcessorLimit(); p++) {
+                children.add(s.expand(node, p));
+            }
+        }
+        return children;
+    }
+
+    @Test
+    public void testExternalAStar() throws Exception {
+        assertOptimal(SchedulerType.EXASTAR, 1);
+        assertEquals(350, schedule(SchedulerType.EXASTAR, "Nodes_11_OutTree.dot", 2, 1));
+    }
+
+    @Test
+    public void testExternalAStarBucketDirectory() throws Exception {
+        // arrange
+        IGraph graph = new Graph(new File(DOT_FILES + "Nodes_10_Random.dot"));
+        File directory = Files.createTempDirectory("buckets").toFile();
+        SchedulingContext context = new SchedulingContext(graph, 2, 1).withBucketDirectory(directory);
+
+        // act
+        ISchedule schedule = factory.createScheduler(SchedulerType.EXASTAR).execute(context);
+
+        // assert, the bucket files and their temporary directory are deleted afterwards
+        assertEquals(50, schedule.getTotalCost());
+        assertEquals(0, directory.list().length);
+        assertTrue(directory.delete());
+    }
+
+    @Test
+    public void testHashDistributedAStar() throws Exception {
+        assertOptimal(SchedulerType.HDASTAR, 1);
+        assertOptimal(SchedulerType.HDASTAR, 4);
+    }
+
+    @Test
+    public void testBNB() throws Exception {
+        assertOptimal(SchedulerType.BNB, 1);
+    }
+
+    @Test
+    public void testIterativeDeepeningAStarTT() throws Exception {
+        assertOptimal(SchedulerType.IDASTAR_TT, 1);
+    }
+
+    @Test
+    public void testParallelIterativeDeepeningAStar() throws Exception {
+        assertOptimal(SchedulerType.PIDASTAR, 1);
+        assertOptimal(SchedulerType.PIDASTAR, 4);
+    }
+
+    @Test
+    public void testAllocationOrdering() throws Exception {
+        assertOptimal(SchedulerType.AO, 1);
+        assertEquals(350, schedule(SchedulerType.AO, "Nodes_11_OutTree.dot", 2, 1));
+    }
+
+    @Test
+    public void testEquivalentNodes() throws Exception {
+        assertEquals(71, schedule(SchedulerType.BNB, "Nodes_21_floating.dot", 2, 1));
+    }
+
+    @Test
+    public void testOptimalityGap() throws Exception {
+        IGraph graph = new Graph(new File(DOT_FILES + "Nodes_10_Random.dot"));
+        SchedulingContext context = new SchedulingContext(graph, 2, 4);
+
+        for (SchedulerType type : SchedulerType.values()) {
+            if (type == SchedulerType.VALID) {
+                continue;
+            }
+
+            // arrange
+            IScheduler scheduler = factory.createScheduler(type);
+
+            // act
+            ISchedule schedule = scheduler.execute(context);
+
+            // assert, a finished run proves its schedule optimal
+            assertEquals(type.name(), IScheduler.SchedulerState.FINISHED, scheduler.getCurrentState());
+            assertEquals(type.name(), 50, schedule.getTotalCost());
+            assertEquals(type.name(), 50, scheduler.getLowerBound());
+            assertEquals(type.name(), 50, scheduler.getUpperBound());
+            assertEquals(type.name(), 0, scheduler.getOptimalityGap(), 0);
+        }
+    }
+
+    @Test
+    public void testTimeBudget() throws Exception {
+        IGraph graph = new Graph(new File(DOT_FILES + "Nodes_21_floating.dot"));
+        SchedulingContext context = new SchedulingContext(graph, 4, 2).withTimeBudget(1);
+
+        for (SchedulerType type : new SchedulerType[]{SchedulerType.ASTAR, SchedulerType.HDASTAR, SchedulerType.BNB,
+                SchedulerType.IDASTAR_TT, SchedulerType.PIDASTAR, SchedulerType.AO}) {
+            // arrange
+            IScheduler scheduler = factory.createScheduler(type);
+
+            // act
+            ISchedule schedule = scheduler.execute(context);
+
+            // assert, the best schedule found is returned with a valid bound, the optimal cost is at most 56
+            assertEquals(IScheduler.SchedulerState.STOPPED, scheduler.getCurrentState());
+            assertEquals(scheduler.getUpperBound(), schedule.getTotalCost());
+            assertTrue(scheduler.getLowerBound() > 0);
+            assertTrue(scheduler.getLowerBound() <= 56);
+            assertTrue(scheduler.getOptimalityGap() >= 0 && scheduler.getOptimalityGap() <= 1);
+        }
+    }
+
+    @Test
+    public void testConcurrentRuns() throws Exception {
+        // arrange
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // act, each run has its own context so different graphs and processor counts do not interfere
+        Future<Integer> first = executor.submit(() -> schedule(SchedulerType.ASTAR, "Nodes_10_Random.dot", 2, 1));
+        Future<Integer> second = executor.submit(() -> schedule(SchedulerType.BNB, "Nodes_11_OutTree.dot", 4, 1));
+
+        // assert
+        assertEquals(Integer.valueOf(50), first.get());
+        assertEquals(Integer.valueOf(227), second.get());
+        executor.shutdown();
+    }
+}
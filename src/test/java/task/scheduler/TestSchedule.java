@@ -0,0 +1,197 @@
+package task.scheduler;
+
+import org.junit.Before;
+import org.junit.Test;
+import task.scheduler.graph.Graph;
+import task.scheduler.graph.IGraph;
+import task.scheduler.schedule.Schedule;
+import task.scheduler.schedule.SchedulingContext;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.*;
+
+public class TestSchedule {
+    private static final String DOT_FILE = "src/test/resources/dot_files/valid_no_comments.dot";
+
+    private Schedule root;
+
+    @Before
+    public void setUp() throws Exception {
+        IGraph graph = new Graph(new File(DOT_FILE));
+        this.root = new Schedule(new SchedulingContext(graph, 2, 1));
+    }
+
+    @Test
+    public void testFingerprintIndependentOfExpansionOrder() {
+        // arrange, nodes are numbered in file order: a = 0, b = 1, c = 2, d = 3
+        Schedule a = root.expand(0, 1);
+
+        // act
+        Schedule bThenC = a.expand(1, 1).expand(2, 2);
+        Schedule cThenB = a.expand(2, 2).expand(1, 1);
+
+        // assert
+        assertEquals(bThenC.getFingerprint(), cThenB.getFingerprint());
+        assertEquals(bThenC, cThenB);
+        assertEquals(bThenC.hashCode(), cThenB.hashCode());
+        assertEquals(bThenC.getScheduleString(), cThenB.getScheduleString());
+    }
+
+    @Test
+    public void testFingerprintDistinguishesStartTimes() {
+        // arrange
+        Schedule a = root.expand(0, 1);
+
+        // act, c starts at 2 on the same processor as a but at 4 on the other processor
+        Schedule sameProcessor = a.expand(2, 1);
+        Schedule otherProcessor = a.expand(2, 2);
+
+        // assert
+        assertNotEquals(sameProcessor.getFingerprint(), otherProcessor.getFingerprint());
+        assertNotEquals(sameProcessor, otherProcessor);
+        assertNotEquals(a.getFingerprint(), root.getFingerprint());
+    }
+
+    @Test
+    public void testEncodeDecode() {
+        // arrange, c is placed before b but starts after it
+        Schedule s = root.expand(0, 1).expand(2, 2).expand(1, 1);
+        ByteBuffer buffer = ByteBuffer.allocate(Schedule.encodedSize(s.getContext()));
+
+        // act
+        s.encode(buffer);
+        buffer.flip();
+        Schedule decoded = Schedule.decode(s.getContext(), buffer);
+
+        // assert
+        assertFalse(buffer.hasRemaining());
+        assertEquals(s, decoded);
+        assertEquals(s.getFingerprint(), decoded.getFingerprint());
+        assertEquals(s.getScheduleString(), decoded.getScheduleString());
+        assertEquals(s.getHeuristicValue(), decoded.getHeuristicValue());
+        assertEquals(s.getTotalCost(), decoded.getTotalCost());
+        assertEquals(s.getProcessorLimit(), decoded.getProcessorLimit());
+        assertEquals(s.nextCandidateNode(0), decoded.nextCandidateNode(0));
+        assertEquals(s.expand(3, 2), decoded.expand(3, 2));
+    }
+
+    @Test
+    public void testReleaseRebuildsAssignment() {
+        // arrange
+        Schedule a = root.expand(0, 1);
+        Schedule b = a.expand(1, 1);
+        Schedule c = b.expand(2, 2);
+        String expected = c.getScheduleString();
+
+        // act, every ancestor but the root is released, so c is rebuilt from the root
+        a.release();
+        b.release();
+        c.release();
+
+        // assert
+        assertEquals(expected, c.getScheduleString());
+        assertEquals(b.expand(2, 2), c);
+        assertEquals(c.minStartTime(3, 1), b.expand(2, 2).minStartTime(3, 1));
+        assertEquals(c.nextFreeNode(0), 3);
+    }
+
+    @Test
+    public void testEvaluateMatchesExpand() {
+        // arrange
+        Schedule a = root.expand(0, 1);
+        Schedule.Expansion expansion = Schedule.Expansion.local();
+
+        // act
+        a.evaluate(2, 2, expansion);
+        Schedule expected = a.expand(2, 2);
+
+        // assert
+        assertEquals(4, expansion.getStartTime());
+        assertEquals(expected.getHeuristicValue(), expansion.getHeuristicValue());
+        assertEquals(expected.getFingerprint(), expansion.getFingerprint());
+        assertEquals(expected.getTotalCost(), expansion.getTotalCost());
+        assertEquals(expected, a.materialise(expansion));
+    }
+
+    @Test
+    public void testMaterialiseOtherSchedule() {
+        // arrange
+        Schedule.Expansion expansion = Schedule.Expansion.local();
+        root.evaluate(0, 1, expansion);
+
+        // act
+        try {
+            root.expand(0, 1).materialise(expansion);
+            fail("an expansion of another schedule must not be materialised");
+        } catch (IllegalArgumentException e) {
+            // assert
+            assertEquals("expansion was not evaluated on this schedule", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testFreeNodes() {
+        // act
+        Schedule a = root.expand(0, 1);
+
+        // assert
+        assertEquals(0, root.nextFreeNode(0));
+        assertEquals(-1, root.nextFreeNode(1));
+        assertEquals(1, a.nextFreeNode(0));
+        assertEquals(2, a.nextFreeNode(2));
+        assertEquals(-1, a.nextFreeNode(3));
+    }
+
+    @Test
+    public void testFingerprintIndependentOfProcessorLabels() {
+        // act
+        Schedule first = root.expand(0, 1).expand(2, 2);
+        Schedule second = root.expand(0, 2).expand(2, 1);
+
+        // assert
+        assertEquals(first.getFingerprint(), second.getFingerprint());
+        assertEquals(first, second);
+        assertEquals(first.getScheduleString(), second.getScheduleString());
+    }
+
+    @Test
+    public void testProcessorLimit() {
+        // act
+        Schedule a = root.expand(0, 1);
+
+        // assert, only the first empty processor is worth expanding onto
+        assertEquals(1, root.getProcessorLimit());
+        assertEquals(2, a.getProcessorLimit());
+        assertEquals(2, a.expand(2, 2).getProcessorLimit());
+    }
+
+    @Test
+    public void testFixedTaskOrder() throws Exception {
+        // arrange, b and c only depend on a and join into d322. b has the earlier data ready time and the larger
+        // out-edge cost, so scheduling b first is never worse
+        IGraph graph = new Graph(new File("src/test/resources/dot_files/test_file.dot"));
+        Schedule a = new Schedule(new SchedulingContext(graph, 2, 1)).expand(0, 1);
+
+        // act
+        int first = a.nextCandidateNode(0);
+
+        // assert
+        assertEquals(1, first);
+        assertEquals(-1, a.nextCandidateNode(first + 1));
+    }
+
+    @Test
+    public void testNoFixedTaskOrder() {
+        // arrange, c has the earlier data ready time but b has the larger out-edge cost
+        Schedule a = root.expand(0, 1);
+
+        // act
+        int first = a.nextCandidateNode(0);
+
+        // assert
+        assertEquals(1, first);
+        assertEquals(2, a.nextCandidateNode(first + 1));
+    }
+}
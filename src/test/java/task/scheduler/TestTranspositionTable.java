@@ -0,0 +1,62 @@
+package task.scheduler;
+
+import org.junit.Test;
+import task.scheduler.schedule.ida.TranspositionTable;
+
+import static org.junit.Assert.*;
+
+public class TestTranspositionTable {
+    // fingerprints with equal high words share a bucket
+    private static final long FIRST = 1L << 32 | 1;
+    private static final long SECOND = 1L << 32 | 2;
+    private static final long THIRD = 1L << 32 | 3;
+
+    @Test
+    public void testGetAndPut() {
+        // arrange
+        TranspositionTable table = new TranspositionTable(1 << 10);
+
+        // act
+        table.put(FIRST, 42, 5);
+        table.put(0L, 7, 10);
+
+        // assert
+        assertEquals(42, table.get(FIRST));
+        assertEquals(7, table.get(0L));
+        assertEquals(-1, table.get(SECOND));
+        assertEquals(2, table.getHits());
+        assertEquals(1, table.getMisses());
+    }
+
+    @Test
+    public void testUpdateInPlace() {
+        // arrange
+        TranspositionTable table = new TranspositionTable(1 << 10);
+        table.put(FIRST, 42, 5);
+
+        // act
+        table.put(FIRST, 43, 5);
+
+        // assert
+        assertEquals(43, table.get(FIRST));
+        assertEquals(0, table.getEvictions());
+    }
+
+    @Test
+    public void testDepthPreferredReplacement() {
+        // arrange, a table of two buckets
+        TranspositionTable table = new TranspositionTable(64);
+        table.put(FIRST, 1, 10);
+        table.put(SECOND, 2, 3);
+
+        // act, the shallow entry is evicted while the deep entry stays
+        table.put(THIRD, 3, 4);
+
+        // assert
+        assertEquals(4, table.capacity());
+        assertEquals(1, table.get(FIRST));
+        assertEquals(-1, table.get(SECOND));
+        assertEquals(3, table.get(THIRD));
+        assertEquals(1, table.getEvictions());
+    }
+}